@@ -0,0 +1,229 @@
+package com.server.Panzers.config;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+
+import com.server.Panzers.service.GameStateBroadcaster;
+
+// Per-connection token buckets for inbound messages, checked first on the inbound channel so a
+// flooding client costs a map lookup and a few arithmetic operations, not a JSON conversion or
+// a collision scan. Each connection has one bucket per action class: moves (compact M/S
+// frames and JSON PLAYER_MOVE/PLAYER_STOP actions), shots (compact F frames and JSON
+// PLAYER_SHOOT actions), and everything else sent or subscribed under /app.
+//
+// Messages over the limit are dropped and counted. A connection that keeps hitting its limits
+// (disconnect-after drops within one violation window) is closed with POLICY_VIOLATION.
+@Component
+public class InboundRateLimiter implements ChannelInterceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(InboundRateLimiter.class.getName());
+    private static final String INPUT_DESTINATION = "/app/game/input";
+    private static final String ACTION_DESTINATION = "/app/game/action";
+    private static final byte[] TYPE_FIELD = "\"type\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MOVE_TYPE = "PLAYER_MOVE\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] STOP_TYPE = "PLAYER_STOP\"".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SHOOT_TYPE = "PLAYER_SHOOT\"".getBytes(StandardCharsets.US_ASCII);
+
+    private enum ActionClass {
+        MOVE, FIRE, OTHER
+    }
+
+    private final GameStateBroadcaster gameStateBroadcaster;
+    private final double[] ratesPerSecond = new double[ActionClass.values().length];
+    private final double[] bursts = new double[ActionClass.values().length];
+    private final int disconnectAfter;
+    private final long violationWindowNanos;
+
+    private final Map<String, SessionLimits> limits = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong[] dropped = {new AtomicLong(), new AtomicLong(), new AtomicLong()};
+    private final AtomicLong disconnected = new AtomicLong();
+
+    public InboundRateLimiter(GameStateBroadcaster gameStateBroadcaster,
+            @Value("${tank.game.rate-limit.move-per-second:90}") double movePerSecond,
+            @Value("${tank.game.rate-limit.move-burst:30}") double moveBurst,
+            @Value("${tank.game.rate-limit.fire-per-second:10}") double firePerSecond,
+            @Value("${tank.game.rate-limit.fire-burst:5}") double fireBurst,
+            @Value("${tank.game.rate-limit.other-per-second:20}") double otherPerSecond,
+            @Value("${tank.game.rate-limit.other-burst:20}") double otherBurst,
+            @Value("${tank.game.rate-limit.disconnect-after:300}") int disconnectAfter,
+            @Value("${tank.game.rate-limit.violation-window:10000}") long violationWindowMillis) {
+        this.gameStateBroadcaster = gameStateBroadcaster;
+        this.ratesPerSecond[ActionClass.MOVE.ordinal()] = movePerSecond;
+        this.bursts[ActionClass.MOVE.ordinal()] = moveBurst;
+        this.ratesPerSecond[ActionClass.FIRE.ordinal()] = firePerSecond;
+        this.bursts[ActionClass.FIRE.ordinal()] = fireBurst;
+        this.ratesPerSecond[ActionClass.OTHER.ordinal()] = otherPerSecond;
+        this.bursts[ActionClass.OTHER.ordinal()] = otherBurst;
+        this.disconnectAfter = disconnectAfter;
+        this.violationWindowNanos = TimeUnit.MILLISECONDS.toNanos(violationWindowMillis);
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        return check(message, System.nanoTime());
+    }
+
+    // Returns the message, or null if it is dropped
+    Message<?> check(Message<?> message, long now) {
+        MessageHeaders headers = message.getHeaders();
+        SimpMessageType type = SimpMessageHeaderAccessor.getMessageType(headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        if (type == null || sessionId == null) {
+            return message;
+        }
+        if (type == SimpMessageType.DISCONNECT) {
+            limits.remove(sessionId);
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if ((type != SimpMessageType.MESSAGE && type != SimpMessageType.SUBSCRIBE)
+                || destination == null || !destination.startsWith("/app/")) {
+            return message;
+        }
+
+        ActionClass actionClass = classify(destination, message.getPayload());
+        SessionLimits session = limits.computeIfAbsent(sessionId, id -> new SessionLimits(now));
+        if (session.tryAcquire(actionClass.ordinal(), now)) {
+            return message;
+        }
+
+        dropped[actionClass.ordinal()].incrementAndGet();
+        if (session.recordViolation(now) == disconnectAfter) {
+            disconnected.incrementAndGet();
+            LOGGER.warning(() -> "Closing session " + sessionId + " after " + disconnectAfter
+                    + " rate-limited messages");
+            gameStateBroadcaster.closeSession(sessionId, CloseStatus.POLICY_VIOLATION);
+        }
+        return null; // Dropped
+    }
+
+    // Compact input frames are classified by their type letter, JSON actions by their type;
+    // anything else under /app (joins, leaves, resumes, subscriptions) shares one bucket
+    private static ActionClass classify(String destination, Object payload) {
+        if (INPUT_DESTINATION.equals(destination) && payload instanceof byte[] frame && frame.length > 0) {
+            return switch (frame[0]) {
+                case 'M', 'S' -> ActionClass.MOVE;
+                case 'F' -> ActionClass.FIRE;
+                default -> ActionClass.OTHER;
+            };
+        }
+        if (ACTION_DESTINATION.equals(destination) && payload instanceof byte[] json) {
+            return classifyAction(json);
+        }
+        return ActionClass.OTHER;
+    }
+
+    // Reads the value of the first "type" field straight from the payload bytes, before any
+    // JSON conversion. Quotes inside string values are escaped, so the field name cannot be
+    // forged from a player name.
+    private static ActionClass classifyAction(byte[] json) {
+        int field = indexOf(json, TYPE_FIELD, 0);
+        if (field < 0) {
+            return ActionClass.OTHER;
+        }
+        int i = field + TYPE_FIELD.length;
+        while (i < json.length && (json[i] == ' ' || json[i] == ':' || json[i] == '\t'
+                || json[i] == '\n' || json[i] == '\r')) {
+            i++;
+        }
+        if (i >= json.length || json[i] != '"') {
+            return ActionClass.OTHER;
+        }
+        i++;
+        if (startsWith(json, i, MOVE_TYPE) || startsWith(json, i, STOP_TYPE)) {
+            return ActionClass.MOVE;
+        }
+        if (startsWith(json, i, SHOOT_TYPE)) {
+            return ActionClass.FIRE;
+        }
+        return ActionClass.OTHER;
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part, int from) {
+        for (int i = from; i <= bytes.length - part.length; i++) {
+            if (startsWith(bytes, i, part)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, byte[] part) {
+        if (offset + part.length > bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < part.length; i++) {
+            if (bytes[offset + i] != part[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getDroppedMoves() {
+        return dropped[ActionClass.MOVE.ordinal()].get();
+    }
+
+    public long getDroppedShots() {
+        return dropped[ActionClass.FIRE.ordinal()].get();
+    }
+
+    public long getDroppedOther() {
+        return dropped[ActionClass.OTHER.ordinal()].get();
+    }
+
+    public long getDisconnected() {
+        return disconnected.get();
+    }
+
+    private final class SessionLimits {
+
+        // Guarded by this
+        private final double[] tokens = bursts.clone();
+        private final long[] refilledAt = new long[bursts.length];
+        private long windowStart;
+        private int violations;
+
+        private SessionLimits(long now) {
+            Arrays.fill(refilledAt, now);
+            windowStart = now;
+        }
+
+        private synchronized boolean tryAcquire(int bucket, long now) {
+            double refill = (now - refilledAt[bucket]) / 1e9 * ratesPerSecond[bucket];
+            tokens[bucket] = Math.min(bursts[bucket], tokens[bucket] + refill);
+            refilledAt[bucket] = now;
+            if (tokens[bucket] < 1) {
+                return false;
+            }
+            tokens[bucket] -= 1;
+            return true;
+        }
+
+        // Returns the number of violations in the current window, including this one
+        private synchronized int recordViolation(long now) {
+            if (now - windowStart > violationWindowNanos) {
+                windowStart = now;
+                violations = 0;
+            }
+            return ++violations;
+        }
+    }
+}
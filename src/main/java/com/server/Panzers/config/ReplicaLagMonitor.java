@@ -0,0 +1,70 @@
+package com.server.Panzers.config;
+
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Stamps the heartbeat row on the primary and reads it back from the replica. The replica is
+// used for reads only while the stamp it returns is younger than the allowed lag; until the
+// first successful check, and whenever the replica cannot be queried, reads go to the primary.
+public class ReplicaLagMonitor {
+
+    private static final Logger LOGGER = Logger.getLogger(ReplicaLagMonitor.class.getName());
+    private static final int HEARTBEAT_ID = 1;
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile long lastLagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primaryDataSource, DataSource replicaDataSource, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primaryDataSource);
+        this.replica = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${tank.datasource.replica.lag-check-interval:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replica_heartbeat SET beat_at = ? WHERE id = ?", now, HEARTBEAT_ID) == 0) {
+                primary.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, now);
+            }
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Could not write replica heartbeat: " + e.getMessage());
+        }
+
+        boolean usable;
+        try {
+            Long replicated = replica.query("SELECT beat_at FROM replica_heartbeat WHERE id = ?",
+                    rs -> rs.next() ? rs.getLong(1) : null, HEARTBEAT_ID);
+            lastLagMillis = replicated != null ? Math.max(0, now - replicated) : -1;
+            usable = replicated != null && lastLagMillis <= maxLagMillis;
+        } catch (Exception e) {
+            lastLagMillis = -1;
+            usable = false;
+        }
+
+        if (usable != replicaUsable) {
+            final boolean nowUsable = usable;
+            LOGGER.info(() -> nowUsable
+                    ? "Replica caught up (lag " + lastLagMillis + " ms), routing read-only transactions to it"
+                    : "Replica lagging or unavailable (lag " + lastLagMillis + " ms), reading from the primary");
+        }
+        replicaUsable = usable;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    // -1 while the lag is unknown
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+}
@@ -0,0 +1,58 @@
+package com.server.Panzers.config;
+
+import java.util.function.Supplier;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Sends connections requested inside @Transactional(readOnly = true) to the replica while it
+// keeps up, everything else to the primary. Only correct behind a LazyConnectionDataSourceProxy:
+// the transaction managers fetch the connection before the read-only flag is published, the
+// proxy defers the real fetch to the first statement.
+//
+// Reads whose result is published under a StatisticsVersion ETag run through readFromPrimary:
+// the version moves when the primary commits, and a lagging replica would otherwise hand out
+// the old data under the new tag until the next write.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor replicaLagMonitor) {
+        this.replicaLagMonitor = replicaLagMonitor;
+    }
+
+    // Runs work with every connection it opens routed to the primary, read-only or not
+    public static <T> T readFromPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY_ONLY.get();
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_ONLY.remove();
+            }
+        }
+    }
+
+    public static void readFromPrimary(Runnable work) {
+        readFromPrimary(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARY_ONLY.get() == null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagMonitor.isReplicaUsable()) {
+            return Route.REPLICA;
+        }
+        return Route.PRIMARY;
+    }
+}
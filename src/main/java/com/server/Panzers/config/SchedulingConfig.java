@@ -4,20 +4,20 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 
-import com.server.Panzers.service.GameSessionService;
+import com.server.Panzers.service.StaleSessionCleanupJob;
 
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
 
-    private final GameSessionService gameSessionService;
+    private final StaleSessionCleanupJob staleSessionCleanupJob;
 
-    public SchedulingConfig(GameSessionService gameSessionService) {
-        this.gameSessionService = gameSessionService;
+    public SchedulingConfig(StaleSessionCleanupJob staleSessionCleanupJob) {
+        this.staleSessionCleanupJob = staleSessionCleanupJob;
     }
 
-    @Scheduled(fixedRate = 3600000) // Every hour
+    @Scheduled(fixedRateString = "${tank.game.statistics.cleanup-interval:3600000}") // Every hour
     public void cleanupOldSessions() {
-        gameSessionService.cleanupOldSessions();
+        staleSessionCleanupJob.run();
     }
 }
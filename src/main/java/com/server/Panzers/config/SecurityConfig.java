@@ -44,6 +44,8 @@ public class SecurityConfig {
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(authz -> authz
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/api/export/**").authenticated()
                 .requestMatchers("/", "/login", "/register", "/css/**", "/js/**", "/images/**",
                         "/ws/**", "/ws-native/**", "/api/**", "/game", "/leaderboard").permitAll()
                 .anyRequest().authenticated()
@@ -0,0 +1,68 @@
+package com.server.Panzers.config;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.server.Panzers.model.User;
+import com.server.Panzers.service.UserService;
+
+// Resolves the logged-in user once per connection, on STOMP CONNECT. The principal comes from
+// the authenticated HTTP session of the WebSocket handshake; its id and username are kept in
+// the WebSocket session attributes so joins never look the user up again. Connections without
+// a principal (or with an unknown or inactive user) stay anonymous.
+@Component
+public class StompAuthenticationInterceptor implements ChannelInterceptor {
+
+    public static final String USER_ID_ATTRIBUTE = "panzers.userId";
+    public static final String USERNAME_ATTRIBUTE = "panzers.username";
+
+    private static final Logger LOGGER = Logger.getLogger(StompAuthenticationInterceptor.class.getName());
+
+    private final UserService userService;
+
+    public StompAuthenticationInterceptor(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        Principal principal = accessor.getUser();
+        if (attributes == null || principal == null) {
+            return message;
+        }
+
+        try {
+            User user = userService.findByUsername(principal.getName());
+            if (user != null && !Boolean.FALSE.equals(user.getIsActive())) {
+                attributes.put(USER_ID_ATTRIBUTE, user.getId());
+                attributes.put(USERNAME_ATTRIBUTE, user.getUsername());
+            }
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Could not resolve user " + principal.getName() + " on STOMP CONNECT: " + e.getMessage());
+        }
+        return message;
+    }
+
+    public static Long getUserId(Map<String, Object> sessionAttributes) {
+        return sessionAttributes != null ? (Long) sessionAttributes.get(USER_ID_ATTRIBUTE) : null;
+    }
+
+    public static String getUsername(Map<String, Object> sessionAttributes) {
+        return sessionAttributes != null ? (String) sessionAttributes.get(USERNAME_ATTRIBUTE) : null;
+    }
+}
@@ -1,15 +1,31 @@
 package com.server.Panzers.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import com.server.Panzers.service.GameStateBroadcaster;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final InboundRateLimiter inboundRateLimiter;
+    private final StompAuthenticationInterceptor stompAuthenticationInterceptor;
+    private final GameStateBroadcaster gameStateBroadcaster;
+
+    public WebSocketConfig(InboundRateLimiter inboundRateLimiter,
+            StompAuthenticationInterceptor stompAuthenticationInterceptor,
+            GameStateBroadcaster gameStateBroadcaster) {
+        this.inboundRateLimiter = inboundRateLimiter;
+        this.stompAuthenticationInterceptor = stompAuthenticationInterceptor;
+        this.gameStateBroadcaster = gameStateBroadcaster;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // Enable a simple in-memory broker to carry messages back to client
@@ -32,5 +48,23 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         // Alternative endpoint without SockJS for better performance
         registry.addEndpoint("/ws-native")
                 .setAllowedOriginPatterns("*");
+
+        // Handle each session's messages in the order they arrived, so a resume or join sent
+        // right after subscribing to /user/queue/session is answered on that subscription
+        registry.setPreserveReceiveOrder(true);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Drop over-limit messages before anything else looks at them; identify the player once
+        // per connection instead of on every join; then track the game state subscriptions,
+        // which are served by the broadcaster instead of the broker
+        registration.interceptors(inboundRateLimiter, stompAuthenticationInterceptor, gameStateBroadcaster);
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Gives the game state broadcaster direct access to the WebSocket sessions
+        registration.addDecoratorFactory(gameStateBroadcaster::decorate);
     }
 }
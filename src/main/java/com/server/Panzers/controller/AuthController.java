@@ -8,7 +8,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import com.server.Panzers.model.GameStatistics;
 import com.server.Panzers.model.User;
 import com.server.Panzers.service.StatisticsService;
 import com.server.Panzers.service.UserService;
@@ -66,8 +65,7 @@ public class AuthController {
             User savedUser = userService.save(user);
 
             // Создаем начальную статистику для пользователя
-            GameStatistics initialStats = new GameStatistics(savedUser);
-            statisticsService.saveStatistics(initialStats);
+            statisticsService.createInitialStatistics(savedUser);
 
             redirectAttributes.addFlashAttribute("success", "Регистрация прошла успешно! Теперь вы можете войти в систему.");
             return "redirect:/login";
@@ -0,0 +1,62 @@
+package com.server.Panzers.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.model.User;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Hit/miss counters of the Hibernate second-level, natural-id and query caches
+@RestController
+@RequestMapping("/api/stats/cache")
+public class CacheStatsController {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public CacheStatsController(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, counters(region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("regions", regions);
+        NaturalIdStatistics naturalIds = statistics.getNaturalIdStatistics(User.class.getName());
+        result.put("userNaturalId", counters(naturalIds.getCacheHitCount(), naturalIds.getCacheMissCount(),
+                naturalIds.getCachePutCount()));
+        result.put("queries", counters(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount()));
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(result);
+    }
+
+    private static Map<String, Object> counters(long hits, long misses, long puts) {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("hits", hits);
+        counters.put("misses", misses);
+        counters.put("puts", puts);
+        long lookups = hits + misses;
+        counters.put("hitRatio", lookups > 0 ? (double) hits / lookups : 0.0);
+        return counters;
+    }
+}
@@ -0,0 +1,37 @@
+package com.server.Panzers.controller;
+
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Helpers for version-stamped GET responses: strong ETags built from in-memory version
+// counters, so an unchanged resource is answered with 304 before any data is loaded
+final class ConditionalResponses {
+
+    // Persisted statistics: short shared caching, then revalidate with the ETag
+    static final CacheControl STATISTICS = CacheControl.maxAge(Duration.ofSeconds(5)).mustRevalidate();
+
+    // Live match data changes every tick, so always revalidate
+    static final CacheControl LIVE = CacheControl.noCache();
+
+    private ConditionalResponses() {
+    }
+
+    static String etag(String resource, Object... versionParts) {
+        StringBuilder etag = new StringBuilder("\"").append(resource);
+        for (Object part : versionParts) {
+            etag.append('-').append(part);
+        }
+        return etag.append('"').toString();
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+    }
+
+    static <T> ResponseEntity<T> ok(String etag, CacheControl cacheControl, T body) {
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(body);
+    }
+}
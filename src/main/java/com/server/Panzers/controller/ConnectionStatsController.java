@@ -0,0 +1,60 @@
+package com.server.Panzers.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.config.InboundRateLimiter;
+import com.server.Panzers.service.ConnectionLifecycleManager;
+import com.server.Panzers.service.GameService;
+import com.server.Panzers.service.GameStateBroadcaster;
+
+// Open WebSocket connections and players, disconnects and resumes, idle evictions, fan-out and
+// inbound rate limiting counters
+@RestController
+@RequestMapping("/api/stats/connections")
+public class ConnectionStatsController {
+
+    private final ConnectionLifecycleManager connectionLifecycleManager;
+    private final GameService gameService;
+    private final GameStateBroadcaster gameStateBroadcaster;
+    private final InboundRateLimiter inboundRateLimiter;
+
+    public ConnectionStatsController(ConnectionLifecycleManager connectionLifecycleManager, GameService gameService,
+            GameStateBroadcaster gameStateBroadcaster, InboundRateLimiter inboundRateLimiter) {
+        this.connectionLifecycleManager = connectionLifecycleManager;
+        this.gameService = gameService;
+        this.gameStateBroadcaster = gameStateBroadcaster;
+        this.inboundRateLimiter = inboundRateLimiter;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getConnectionStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("openConnections", connectionLifecycleManager.getOpenConnections());
+        result.put("activePlayers", gameService.getOnlinePlayersCount());
+        result.put("opened", connectionLifecycleManager.getOpenedCount());
+        result.put("closed", connectionLifecycleManager.getClosedCount());
+        result.put("playersDisconnected", connectionLifecycleManager.getPlayersDisconnected());
+        result.put("detachedPlayers", gameService.getDetachedCount());
+        result.put("resumed", gameService.getResumedCount());
+        result.put("resumesRejected", gameService.getResumesRejected());
+        result.put("resumeGraceExpired", gameService.getResumeGraceExpired());
+        result.put("evictedIdle", connectionLifecycleManager.getPlayersEvictedIdle());
+        result.put("gameStateSubscribers", gameStateBroadcaster.getSubscriberCount());
+        result.put("framesSent", gameStateBroadcaster.getFramesSent());
+        result.put("framesSkipped", gameStateBroadcaster.getFramesSkipped());
+        result.put("bytesSent", gameStateBroadcaster.getBytesSent());
+        result.put("inputsRejected", gameService.getInputsRejected());
+        result.put("droppedMoves", inboundRateLimiter.getDroppedMoves());
+        result.put("droppedShots", inboundRateLimiter.getDroppedShots());
+        result.put("droppedOther", inboundRateLimiter.getDroppedOther());
+        result.put("rateLimitDisconnects", inboundRateLimiter.getDisconnected());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(result);
+    }
+}
@@ -0,0 +1,118 @@
+package com.server.Panzers.controller;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.model.User;
+import com.server.Panzers.service.ExportService;
+import com.server.Panzers.service.UserService;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+// Bulk exports for analysis. Rows are written to the response as they are read,
+// so these endpoints never hold a whole table in memory. Players export their own data;
+// exporting everyone's, or another player's, takes ROLE_ADMIN.
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    private static final String ADMIN = "ROLE_ADMIN";
+
+    private final ExportService exportService;
+    private final UserService userService;
+
+    public ExportController(ExportService exportService, UserService userService) {
+        this.exportService = exportService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/sessions")
+    public void exportSessions(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String username, Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        username = scope(username, authentication);
+        if (username == null && !isAdmin(authentication)) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        ExportService.Format exportFormat = parseFormat(format);
+        Long userId = resolveUserId(username);
+        if (exportFormat == null || (username != null && userId == null)) {
+            response.sendError(exportFormat == null ? HttpStatus.BAD_REQUEST.value() : HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        prepare(response, exportFormat, username != null ? "sessions-" + username : "sessions");
+        exportService.exportSessions(userId, exportFormat, response.getOutputStream());
+    }
+
+    @GetMapping("/statistics")
+    public void exportStatistics(@RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(required = false) String username, Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        username = scope(username, authentication);
+        if (username == null && !isAdmin(authentication)) {
+            response.sendError(HttpStatus.FORBIDDEN.value());
+            return;
+        }
+        ExportService.Format exportFormat = parseFormat(format);
+        Long userId = resolveUserId(username);
+        if (exportFormat == null || (username != null && userId == null)) {
+            response.sendError(exportFormat == null ? HttpStatus.BAD_REQUEST.value() : HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        prepare(response, exportFormat, username != null ? "statistics-" + username : "statistics");
+        exportService.exportStatistics(userId, exportFormat, response.getOutputStream());
+    }
+
+    // Non-admins always get their own data: no username means theirs, and any other username
+    // is refused (null is returned only to admins asking for everyone)
+    private String scope(String username, Authentication authentication) {
+        if (isAdmin(authentication)) {
+            return username;
+        }
+        if (username == null || username.equals(authentication.getName())) {
+            return authentication.getName();
+        }
+        return null;
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream().anyMatch(authority -> ADMIN.equals(authority.getAuthority()));
+    }
+
+    private ExportService.Format parseFormat(String format) {
+        switch (format.toLowerCase()) {
+            case "ndjson":
+                return ExportService.Format.NDJSON;
+            case "csv":
+                return ExportService.Format.CSV;
+            default:
+                return null;
+        }
+    }
+
+    private Long resolveUserId(String username) {
+        if (username == null) {
+            return null;
+        }
+        User user = userService.findByUsername(username);
+        return user != null ? user.getId() : null;
+    }
+
+    private void prepare(HttpServletResponse response, ExportService.Format format, String name) {
+        boolean csv = format == ExportService.Format.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + name.replaceAll("[^A-Za-z0-9_.-]", "_") + (csv ? ".csv" : ".ndjson") + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+    }
+}
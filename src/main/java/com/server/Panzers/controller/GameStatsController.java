@@ -3,13 +3,17 @@ package com.server.Panzers.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.server.Panzers.dto.ScoreboardEntryDTO;
 import com.server.Panzers.service.GameService;
+import com.server.Panzers.service.LiveScoreboard;
 
 @RestController
 @RequestMapping("/api/game-stats")
@@ -22,32 +26,55 @@ public class GameStatsController {
     }
 
     @GetMapping("/online-players")
-    public ResponseEntity<Integer> getOnlinePlayersCount() {
-        return ResponseEntity.ok(gameService.getOnlinePlayersCount());
+    public ResponseEntity<Integer> getOnlinePlayersCount(WebRequest request) {
+        int onlinePlayers = gameService.getOnlinePlayersCount();
+        String etag = ConditionalResponses.etag("online", onlinePlayers);
+        if (request.checkNotModified(etag)) {
+            return ConditionalResponses.notModified(etag, ConditionalResponses.LIVE);
+        }
+        return ConditionalResponses.ok(etag, ConditionalResponses.LIVE, onlinePlayers);
     }
 
     @GetMapping("/top-players")
-    public ResponseEntity<List<Map<String, Object>>> getTopPlayers(
-            @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(gameService.getTopPlayers(limit));
+    public ResponseEntity<List<ScoreboardEntryDTO>> getTopPlayers(
+            @RequestParam(defaultValue = "10") int limit, WebRequest request) {
+        LiveScoreboard.Snapshot scoreboard = gameService.getScoreboard();
+        String etag = ConditionalResponses.etag("top-" + limit, scoreboard.getVersion());
+        if (request.checkNotModified(etag)) {
+            return ConditionalResponses.notModified(etag, ConditionalResponses.LIVE);
+        }
+        return ConditionalResponses.ok(etag, ConditionalResponses.LIVE, scoreboard.getTopPlayers(limit));
     }
 
     @GetMapping("/current-winner")
-    public ResponseEntity<String> getCurrentWinner() {
-        String winner = gameService.determineGameWinner();
-        return ResponseEntity.ok(winner != null ? winner : "No players in game");
+    public ResponseEntity<String> getCurrentWinner(WebRequest request) {
+        LiveScoreboard.Snapshot scoreboard = gameService.getScoreboard();
+        String etag = ConditionalResponses.etag("winner", scoreboard.getVersion());
+        if (request.checkNotModified(etag)) {
+            return ConditionalResponses.notModified(etag, ConditionalResponses.LIVE);
+        }
+        ScoreboardEntryDTO leader = scoreboard.getLeader();
+        return ConditionalResponses.ok(etag, ConditionalResponses.LIVE,
+                leader != null ? leader.getPlayerName() : "No players in game");
     }
 
+    // Tank positions change on every tick, so there is nothing useful to revalidate against
     @GetMapping("/active-tanks")
     public ResponseEntity<Map<String, Object>> getActiveTanks() {
-        return ResponseEntity.ok(Map.of(
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(Map.of(
                 "count", gameService.getActiveTanks().size(),
                 "tanks", gameService.getActiveTanks()
         ));
     }
 
+    // Body and ETag both come from the scoreboard snapshot, so a version always names the same scores
     @GetMapping("/player-scores")
-    public ResponseEntity<Map<String, Integer>> getPlayerScores() {
-        return ResponseEntity.ok(gameService.getPlayerScores());
+    public ResponseEntity<Map<String, Integer>> getPlayerScores(WebRequest request) {
+        LiveScoreboard.Snapshot scoreboard = gameService.getScoreboard();
+        String etag = ConditionalResponses.etag("scores", scoreboard.getVersion());
+        if (request.checkNotModified(etag)) {
+            return ConditionalResponses.notModified(etag, ConditionalResponses.LIVE);
+        }
+        return ConditionalResponses.ok(etag, ConditionalResponses.LIVE, scoreboard.getScores());
     }
 }
@@ -1,11 +1,19 @@
 package com.server.Panzers.controller;
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
+import com.server.Panzers.config.StompAuthenticationInterceptor;
+import com.server.Panzers.dto.BulletEventsDTO;
 import com.server.Panzers.dto.PlayerActionDTO;
+import com.server.Panzers.dto.ResumeRequestDTO;
+import com.server.Panzers.dto.RosterEntryDTO;
 import com.server.Panzers.service.GameService;
 
 @Controller
@@ -27,13 +35,19 @@ public class GameWebSocketController {
             }
 
             // Handle the action
-            gameService.handlePlayerAction(action);
+            dispatch(action, headerAccessor);
         } catch (Exception e) {
             System.err.println("Error handling player action: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    // Compact input frames: the raw payload goes to the game's parser, no message converter runs
+    @MessageMapping("/game/input")
+    public void handleInput(@Payload byte[] frame, SimpMessageHeaderAccessor headerAccessor) {
+        gameService.handleInput(headerAccessor.getSessionId(), frame);
+    }
+
     @MessageMapping("/game/join")
     public void handlePlayerJoin(@Payload PlayerActionDTO action, SimpMessageHeaderAccessor headerAccessor) {
         try {
@@ -43,13 +57,20 @@ public class GameWebSocketController {
             }
             action.setType("PLAYER_JOIN");
 
-            gameService.handlePlayerAction(action);
+            dispatch(action, headerAccessor);
         } catch (Exception e) {
             System.err.println("Error handling player join: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
+    // A reconnecting client takes its player back; the reply arrives on /user/queue/session
+    @MessageMapping("/game/resume")
+    public void handleResume(@Payload ResumeRequestDTO request, SimpMessageHeaderAccessor headerAccessor) {
+        gameService.resumePlayer(request.getResumeToken(), headerAccessor.getSessionId(),
+                StompAuthenticationInterceptor.getUserId(headerAccessor.getSessionAttributes()));
+    }
+
     @MessageMapping("/game/leave")
     public void handlePlayerLeave(SimpMessageHeaderAccessor headerAccessor) {
         try {
@@ -59,10 +80,32 @@ public class GameWebSocketController {
             action.setPlayerId(sessionId);
             action.setType("PLAYER_LEAVE");
 
-            gameService.handlePlayerAction(action);
+            dispatch(action, headerAccessor);
         } catch (Exception e) {
             System.err.println("Error handling player leave: " + e.getMessage());
             e.printStackTrace();
         }
     }
+
+    // Current roster for v2 clients, answered directly to the subscriber; later changes
+    // arrive on /topic/roster
+    @SubscribeMapping("/game/roster")
+    public List<RosterEntryDTO> getRoster() {
+        return gameService.getRoster();
+    }
+
+    // Bullets already in flight for a client that just subscribed; later ones arrive as
+    // events on /topic/bullets
+    @SubscribeMapping("/game/bullets")
+    public BulletEventsDTO getBullets() {
+        return gameService.getBulletKeyframe();
+    }
+
+    // Identity comes from the WebSocket session (resolved on CONNECT), never from the payload
+    private void dispatch(PlayerActionDTO action, SimpMessageHeaderAccessor headerAccessor) {
+        Map<String, Object> attributes = headerAccessor.getSessionAttributes();
+        gameService.handlePlayerAction(action, headerAccessor.getSessionId(),
+                StompAuthenticationInterceptor.getUserId(attributes),
+                StompAuthenticationInterceptor.getUsername(attributes));
+    }
 }
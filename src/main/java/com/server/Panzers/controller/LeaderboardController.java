@@ -1,14 +1,19 @@
 package com.server.Panzers.controller;
 
 import java.util.List;
+import java.util.function.Function;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.server.Panzers.model.GameStatistics;
+import com.server.Panzers.dto.LeaderboardEntryDTO;
 import com.server.Panzers.service.GameService;
 import com.server.Panzers.service.StatisticsService; // Импортируем GameService
 
@@ -16,6 +21,8 @@ import com.server.Panzers.service.StatisticsService; // Импортируем G
 @RequestMapping("/api")
 public class LeaderboardController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final StatisticsService statisticsService;
     private final GameService gameService; // Добавляем GameService в контроллер
 
@@ -25,41 +32,48 @@ public class LeaderboardController {
     }
 
     @GetMapping("/leaderboard/{type}")
-    public ResponseEntity<List<GameStatistics>> getLeaderboard(@PathVariable String type) {
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@PathVariable String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            WebRequest request) {
+        Function<Pageable, List<LeaderboardEntryDTO>> query = switch (type.toLowerCase()) {
+            case "score" -> statisticsService::getTopPlayersByScore;
+            case "wins" -> statisticsService::getTopPlayersByWins;
+            case "kd" -> statisticsService::getTopPlayersByKDRatio;
+            case "accuracy" -> statisticsService::getTopPlayersByAccuracy;
+            default -> null;
+        };
+        // Before the ETag check, so an unknown type is never answered with 304
+        if (query == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
         try {
-            List<GameStatistics> leaderboard;
-
-            switch (type.toLowerCase()) {
-                case "score":
-                    leaderboard = statisticsService.getTopPlayersByScore();
-                    break;
-                case "wins":
-                    leaderboard = statisticsService.getTopPlayersByWins();
-                    break;
-                case "kd":
-                    leaderboard = statisticsService.getTopPlayersByKDRatio();
-                    break;
-                case "accuracy":
-                    leaderboard = statisticsService.getTopPlayersByAccuracy();
-                    break;
-                default:
-                    return ResponseEntity.badRequest().build();
+            Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+            String etag = ConditionalResponses.etag("leaderboard-" + type.toLowerCase(),
+                    pageable.getPageNumber(), pageable.getPageSize(), statisticsService.getStatisticsVersion());
+            if (request.checkNotModified(etag)) {
+                return ConditionalResponses.notModified(etag, ConditionalResponses.STATISTICS);
             }
-
-            return ResponseEntity.ok(leaderboard);
+            return ConditionalResponses.ok(etag, ConditionalResponses.STATISTICS, query.apply(pageable));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
     @GetMapping("/stats/global")
-    public ResponseEntity<GlobalStatsDTO> getGlobalStats() {
+    public ResponseEntity<GlobalStatsDTO> getGlobalStats(WebRequest request) {
         try {
             // Получаем количество онлайн игроков из GameService
             long onlinePlayers = gameService.getOnlinePlayersCount();
+            String etag = ConditionalResponses.etag("global", statisticsService.getStatisticsVersion(), onlinePlayers);
+            if (request.checkNotModified(etag)) {
+                return ConditionalResponses.notModified(etag, ConditionalResponses.STATISTICS);
+            }
+
             GlobalStatsDTO stats = statisticsService.getGlobalStats();
             stats.setOnlinePlayers(onlinePlayers);
-            return ResponseEntity.ok(stats);
+            return ConditionalResponses.ok(etag, ConditionalResponses.STATISTICS, stats);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
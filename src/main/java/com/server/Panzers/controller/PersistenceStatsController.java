@@ -0,0 +1,49 @@
+package com.server.Panzers.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.service.SessionWriteBuffer;
+import com.server.Panzers.service.StaleSessionCleanupJob;
+
+// State of the session write buffer (circuit breaker, queue depth and spill/replay counters)
+// and progress of the stale session cleanup
+@RestController
+@RequestMapping("/api/stats/persistence")
+public class PersistenceStatsController {
+
+    private final SessionWriteBuffer sessionWriteBuffer;
+    private final StaleSessionCleanupJob staleSessionCleanupJob;
+
+    public PersistenceStatsController(SessionWriteBuffer sessionWriteBuffer,
+            StaleSessionCleanupJob staleSessionCleanupJob) {
+        this.sessionWriteBuffer = sessionWriteBuffer;
+        this.staleSessionCleanupJob = staleSessionCleanupJob;
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getPersistenceStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("circuitOpen", sessionWriteBuffer.isCircuitOpen());
+        result.put("pending", sessionWriteBuffer.getPendingCount());
+        result.put("written", sessionWriteBuffer.getWrittenCount());
+        result.put("spilled", sessionWriteBuffer.getSpilledCount());
+        result.put("replayed", sessionWriteBuffer.getReplayedCount());
+
+        Map<String, Object> cleanup = new LinkedHashMap<>();
+        cleanup.put("running", staleSessionCleanupJob.isRunning());
+        cleanup.put("runs", staleSessionCleanupJob.getRuns());
+        cleanup.put("totalClosed", staleSessionCleanupJob.getTotalClosed());
+        cleanup.put("lastRunClosed", staleSessionCleanupJob.getLastRunClosed());
+        cleanup.put("lastRunChunks", staleSessionCleanupJob.getLastRunChunks());
+        cleanup.put("lastRunMillis", staleSessionCleanupJob.getLastRunMillis());
+        result.put("staleSessionCleanup", cleanup);
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(result);
+    }
+}
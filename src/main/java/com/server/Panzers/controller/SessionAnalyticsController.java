@@ -0,0 +1,67 @@
+package com.server.Panzers.controller;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.model.SessionRollup;
+import com.server.Panzers.service.SessionAnalyticsService;
+
+@RestController
+@RequestMapping("/api/stats/sessions")
+public class SessionAnalyticsController {
+
+    private static final int MAX_HOURLY_RANGE_DAYS = 31;
+    private static final int MAX_DAILY_RANGE_DAYS = 366 * 2;
+
+    private final SessionAnalyticsService sessionAnalyticsService;
+
+    public SessionAnalyticsController(SessionAnalyticsService sessionAnalyticsService) {
+        this.sessionAnalyticsService = sessionAnalyticsService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SessionRollup>> getBuckets(
+            @RequestParam(defaultValue = "hourly") String granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        SessionRollup.Granularity bucketGranularity;
+        switch (granularity.toLowerCase()) {
+            case "hourly":
+                bucketGranularity = SessionRollup.Granularity.HOURLY;
+                break;
+            case "daily":
+                bucketGranularity = SessionRollup.Granularity.DAILY;
+                break;
+            default:
+                return ResponseEntity.badRequest().build();
+        }
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        int maxDays = bucketGranularity == SessionRollup.Granularity.HOURLY ? MAX_HOURLY_RANGE_DAYS : MAX_DAILY_RANGE_DAYS;
+        LocalDateTime start = from != null ? from : end.minusDays(bucketGranularity == SessionRollup.Granularity.HOURLY ? 1 : 30);
+        if (!start.isBefore(end) || start.isBefore(end.minusDays(maxDays))) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(sessionAnalyticsService.getBuckets(bucketGranularity, start, end));
+    }
+
+    @GetMapping("/summary")
+    public ResponseEntity<SessionRollup> getSummary(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now().plusHours(1);
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        if (!start.isBefore(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(sessionAnalyticsService.getTotals(start, end));
+    }
+}
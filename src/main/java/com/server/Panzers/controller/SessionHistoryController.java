@@ -0,0 +1,44 @@
+package com.server.Panzers.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.dto.SessionHistoryPageDTO;
+import com.server.Panzers.model.User;
+import com.server.Panzers.service.SessionHistoryService;
+import com.server.Panzers.service.UserService;
+
+@RestController
+@RequestMapping("/api/history")
+public class SessionHistoryController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SessionHistoryService sessionHistoryService;
+    private final UserService userService;
+
+    public SessionHistoryController(SessionHistoryService sessionHistoryService, UserService userService) {
+        this.sessionHistoryService = sessionHistoryService;
+        this.userService = userService;
+    }
+
+    @GetMapping("/{username}")
+    public ResponseEntity<SessionHistoryPageDTO> getHistory(@PathVariable String username,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        User user = userService.findByUsername(username);
+        if (user == null) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(sessionHistoryService.getHistory(user.getId(),
+                    Math.max(0, page), Math.max(1, Math.min(size, MAX_PAGE_SIZE))));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
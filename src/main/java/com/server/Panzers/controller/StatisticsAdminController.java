@@ -0,0 +1,44 @@
+package com.server.Panzers.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.server.Panzers.service.StatisticsRebuildJob;
+
+// On-demand statistics rebuild (ROLE_ADMIN). The rebuild runs in the background; poll the
+// GET endpoint to see when it has finished.
+@RestController
+@RequestMapping("/api/admin/statistics/rebuild")
+public class StatisticsAdminController {
+
+    private final StatisticsRebuildJob statisticsRebuildJob;
+
+    public StatisticsAdminController(StatisticsRebuildJob statisticsRebuildJob) {
+        this.statisticsRebuildJob = statisticsRebuildJob;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> startRebuild() {
+        boolean started = statisticsRebuildJob.start();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("started", started);
+        result.put("running", statisticsRebuildJob.isRunning());
+        return ResponseEntity.status(started ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT)
+                .cacheControl(CacheControl.noStore()).body(result);
+    }
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getRebuildStatus() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("running", statisticsRebuildJob.isRunning());
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(result);
+    }
+}
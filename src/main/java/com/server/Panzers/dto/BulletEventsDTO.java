@@ -0,0 +1,42 @@
+package com.server.Panzers.dto;
+
+import java.util.List;
+
+// Bullet events of one game tick. Bullets fly in a straight line at Bullet.DEFAULT_SPEED pixels
+// per tick, so clients simulate them from the spawn event until a hit or destroyed event (or
+// their own range and lifetime checks) removes them.
+//
+//   spawned:   [bullet, x, y, direction ordinal, tick of the shot]
+//   hits:      [bullet, tank number]
+//   destroyed: bullet numbers that expired or left the map
+public class BulletEventsDTO {
+
+    private final long tick;
+    private final List<long[]> spawned;
+    private final List<long[]> hits;
+    private final List<Long> destroyed;
+
+    public BulletEventsDTO(long tick, List<long[]> spawned, List<long[]> hits, List<Long> destroyed) {
+        this.tick = tick;
+        this.spawned = spawned;
+        this.hits = hits;
+        this.destroyed = destroyed;
+    }
+
+    // Getters
+    public long getTick() {
+        return tick;
+    }
+
+    public List<long[]> getSpawned() {
+        return spawned;
+    }
+
+    public List<long[]> getHits() {
+        return hits;
+    }
+
+    public List<Long> getDestroyed() {
+        return destroyed;
+    }
+}
@@ -0,0 +1,34 @@
+package com.server.Panzers.dto;
+
+// Sent on /topic/events the tick a tank is destroyed; the tank's new state follows in the next
+// snapshot, and its respawn after respawnMillis
+public class DeathEventDTO {
+
+    private final String type = "DEATH";
+    private final long tank;
+    private final Long killer;
+    private final long respawnMillis;
+
+    public DeathEventDTO(long tank, Long killer, long respawnMillis) {
+        this.tank = tank;
+        this.killer = killer;
+        this.respawnMillis = respawnMillis;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public long getTank() {
+        return tank;
+    }
+
+    public Long getKiller() {
+        return killer;
+    }
+
+    public long getRespawnMillis() {
+        return respawnMillis;
+    }
+}
@@ -0,0 +1,51 @@
+package com.server.Panzers.dto;
+
+// A player's private HUD state, sent to that player only and only when one of the values changes
+public class HudDTO {
+
+    private final int health;
+    private final int ammunition;
+    private final int score;
+    private final int kills;
+    private final int deaths;
+    private final boolean isAlive;
+
+    public HudDTO(int health, int ammunition, int score, int kills, int deaths, boolean isAlive) {
+        this.health = health;
+        this.ammunition = ammunition;
+        this.score = score;
+        this.kills = kills;
+        this.deaths = deaths;
+        this.isAlive = isAlive;
+    }
+
+    public boolean matches(int health, int ammunition, int score, int kills, int deaths, boolean isAlive) {
+        return this.health == health && this.ammunition == ammunition && this.score == score
+                && this.kills == kills && this.deaths == deaths && this.isAlive == isAlive;
+    }
+
+    // Getters
+    public int getHealth() {
+        return health;
+    }
+
+    public int getAmmunition() {
+        return ammunition;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public boolean isAlive() {
+        return isAlive;
+    }
+}
@@ -0,0 +1,99 @@
+package com.server.Panzers.dto;
+
+// Leaderboard row built directly by the JPQL constructor expressions in GameStatisticsRepository,
+// so no GameStatistics/User entities (or their lazy relations) are loaded or serialized
+public class LeaderboardEntryDTO {
+
+    private final String username;
+    private final int totalGames;
+    private final int wins;
+    private final int losses;
+    private final int draws;
+    private final int kills;
+    private final int deaths;
+    private final long totalScore;
+    private final int highestScore;
+    private final int shotsFired;
+    private final int shotsHit;
+
+    public LeaderboardEntryDTO(String username, Integer totalGames, Integer wins, Integer losses, Integer draws,
+            Integer kills, Integer deaths, Long totalScore, Integer highestScore, Integer shotsFired, Integer shotsHit) {
+        this.username = username;
+        this.totalGames = valueOf(totalGames);
+        this.wins = valueOf(wins);
+        this.losses = valueOf(losses);
+        this.draws = valueOf(draws);
+        this.kills = valueOf(kills);
+        this.deaths = valueOf(deaths);
+        this.totalScore = totalScore != null ? totalScore : 0L;
+        this.highestScore = valueOf(highestScore);
+        this.shotsFired = valueOf(shotsFired);
+        this.shotsHit = valueOf(shotsHit);
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    // Derived values (same formulas as GameStatistics)
+    public double getKDRatio() {
+        return deaths > 0 ? (double) kills / deaths : kills;
+    }
+
+    public double getWinRate() {
+        return totalGames > 0 ? (double) wins / totalGames * 100 : 0;
+    }
+
+    public double getAccuracy() {
+        return shotsFired > 0 ? (double) shotsHit / shotsFired * 100 : 0;
+    }
+
+    public double getAverageScore() {
+        return totalGames > 0 ? (double) totalScore / totalGames : 0;
+    }
+
+    // Getters
+    public String getUsername() {
+        return username;
+    }
+
+    public int getTotalGames() {
+        return totalGames;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public int getHighestScore() {
+        return highestScore;
+    }
+
+    public int getShotsFired() {
+        return shotsFired;
+    }
+
+    public int getShotsHit() {
+        return shotsHit;
+    }
+}
@@ -0,0 +1,40 @@
+package com.server.Panzers.dto;
+
+// Sent on /user/queue/session to the connection that joined or tried to resume. A JOINED or
+// RESUMED reply carries the token that reattaches the player to a new connection within
+// resumeGraceMillis of losing this one; RESUME_REJECTED means the client has to join afresh.
+public class PlayerSessionDTO {
+
+    public static final String JOINED = "JOINED";
+    public static final String RESUMED = "RESUMED";
+    public static final String RESUME_REJECTED = "RESUME_REJECTED";
+
+    private final String type;
+    private final String playerId;
+    private final String resumeToken;
+    private final long resumeGraceMillis;
+
+    public PlayerSessionDTO(String type, String playerId, String resumeToken, long resumeGraceMillis) {
+        this.type = type;
+        this.playerId = playerId;
+        this.resumeToken = resumeToken;
+        this.resumeGraceMillis = resumeGraceMillis;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public long getResumeGraceMillis() {
+        return resumeGraceMillis;
+    }
+}
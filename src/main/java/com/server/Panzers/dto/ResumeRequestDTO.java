@@ -0,0 +1,18 @@
+package com.server.Panzers.dto;
+
+// Sent to /app/game/resume by a client that reconnected, with the token of its last join or resume
+public class ResumeRequestDTO {
+
+    private String resumeToken;
+
+    public ResumeRequestDTO() {
+    }
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+}
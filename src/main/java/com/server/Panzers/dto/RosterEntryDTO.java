@@ -0,0 +1,35 @@
+package com.server.Panzers.dto;
+
+// Static per-player data of the v2 game state schema, sent on subscribe and whenever a player
+// joins or leaves; ticks refer to players only by their tank number
+public class RosterEntryDTO {
+
+    private final long number;
+    private final String playerId;
+    private final String playerName;
+    private final String color;
+
+    public RosterEntryDTO(long number, String playerId, String playerName, String color) {
+        this.number = number;
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.color = color;
+    }
+
+    // Getters
+    public long getNumber() {
+        return number;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public String getColor() {
+        return color;
+    }
+}
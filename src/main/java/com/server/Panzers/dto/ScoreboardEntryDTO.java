@@ -0,0 +1,45 @@
+package com.server.Panzers.dto;
+
+public class ScoreboardEntryDTO {
+
+    private final String playerId;
+    private final String playerName;
+    private final int score;
+    private final int kills;
+    private final int deaths;
+    private final boolean isAlive;
+
+    public ScoreboardEntryDTO(String playerId, String playerName, int score, int kills, int deaths, boolean isAlive) {
+        this.playerId = playerId;
+        this.playerName = playerName;
+        this.score = score;
+        this.kills = kills;
+        this.deaths = deaths;
+        this.isAlive = isAlive;
+    }
+
+    // Getters (entries are immutable so a published snapshot can be shared between readers)
+    public String getPlayerId() {
+        return playerId;
+    }
+
+    public String getPlayerName() {
+        return playerName;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public boolean isAlive() {
+        return isAlive;
+    }
+}
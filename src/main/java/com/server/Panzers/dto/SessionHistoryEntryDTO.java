@@ -0,0 +1,101 @@
+package com.server.Panzers.dto;
+
+import java.time.LocalDateTime;
+
+import com.server.Panzers.model.GameSession;
+
+// One finished or running session in a player's history, from either the database (hot)
+// or the archive segment files (cold)
+public class SessionHistoryEntryDTO {
+
+    private final long id;
+    private final long userId;
+    private final LocalDateTime sessionStart;
+    private final LocalDateTime sessionEnd;
+    private final int finalScore;
+    private final int kills;
+    private final int deaths;
+    private final int shotsFired;
+    private final int shotsHit;
+    private final GameSession.GameResult gameResult;
+    private final int durationSeconds;
+    private final boolean archived;
+
+    // Used by the JPQL constructor expressions in GameSessionRepository
+    public SessionHistoryEntryDTO(Long id, Long userId, LocalDateTime sessionStart, LocalDateTime sessionEnd,
+            Integer finalScore, Integer kills, Integer deaths, Integer shotsFired, Integer shotsHit,
+            GameSession.GameResult gameResult, Integer durationSeconds) {
+        this(id, userId, sessionStart, sessionEnd, valueOf(finalScore), valueOf(kills), valueOf(deaths),
+                valueOf(shotsFired), valueOf(shotsHit), gameResult, valueOf(durationSeconds), false);
+    }
+
+    public SessionHistoryEntryDTO(long id, long userId, LocalDateTime sessionStart, LocalDateTime sessionEnd,
+            int finalScore, int kills, int deaths, int shotsFired, int shotsHit,
+            GameSession.GameResult gameResult, int durationSeconds, boolean archived) {
+        this.id = id;
+        this.userId = userId;
+        this.sessionStart = sessionStart;
+        this.sessionEnd = sessionEnd;
+        this.finalScore = finalScore;
+        this.kills = kills;
+        this.deaths = deaths;
+        this.shotsFired = shotsFired;
+        this.shotsHit = shotsHit;
+        this.gameResult = gameResult;
+        this.durationSeconds = durationSeconds;
+        this.archived = archived;
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    // Getters
+    public long getId() {
+        return id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getSessionStart() {
+        return sessionStart;
+    }
+
+    public LocalDateTime getSessionEnd() {
+        return sessionEnd;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public int getShotsFired() {
+        return shotsFired;
+    }
+
+    public int getShotsHit() {
+        return shotsHit;
+    }
+
+    public GameSession.GameResult getGameResult() {
+        return gameResult;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public boolean isArchived() {
+        return archived;
+    }
+}
@@ -0,0 +1,42 @@
+package com.server.Panzers.dto;
+
+import java.util.List;
+
+public class SessionHistoryPageDTO {
+
+    private final List<SessionHistoryEntryDTO> sessions;
+    private final int page;
+    private final int size;
+    private final long totalSessions;
+    private final long archivedSessions;
+
+    public SessionHistoryPageDTO(List<SessionHistoryEntryDTO> sessions, int page, int size,
+            long totalSessions, long archivedSessions) {
+        this.sessions = sessions;
+        this.page = page;
+        this.size = size;
+        this.totalSessions = totalSessions;
+        this.archivedSessions = archivedSessions;
+    }
+
+    // Getters
+    public List<SessionHistoryEntryDTO> getSessions() {
+        return sessions;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getTotalSessions() {
+        return totalSessions;
+    }
+
+    public long getArchivedSessions() {
+        return archivedSessions;
+    }
+}
@@ -2,6 +2,7 @@ package com.server.Panzers.model;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.UUID;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -15,6 +16,7 @@ import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 
+// Table and indexes are created by the Flyway migrations in db/migration
 @Entity
 @Table(name = "game_sessions")
 public class GameSession {
@@ -23,6 +25,11 @@ public class GameSession {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Assigned in memory when the session starts, so snapshots can be written (and replayed)
+    // as idempotent upserts before the row has an id
+    @Column(name = "session_key", length = 36, unique = true, updatable = false)
+    private String sessionKey;
+
     @ManyToOne
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -55,6 +62,15 @@ public class GameSession {
     @Column(name = "duration_seconds")
     private Integer durationSeconds = 0;
 
+    // Set only by the rollup job (bulk update), never by entity saves from the game
+    @Column(name = "rolled_up", nullable = false, updatable = false)
+    private Boolean rolledUp = false;
+
+    // Set by the session write buffer in the same transaction that adds the session to
+    // game_statistics, so a replayed snapshot is never counted twice
+    @Column(name = "stats_applied", nullable = false, updatable = false)
+    private Boolean statsApplied = false;
+
     @PrePersist
     protected void onCreate() {
         sessionStart = LocalDateTime.now();
@@ -66,6 +82,7 @@ public class GameSession {
 
     public GameSession(User user) {
         this.user = user;
+        this.sessionKey = UUID.randomUUID().toString();
         this.sessionStart = LocalDateTime.now();
     }
 
@@ -107,6 +124,14 @@ public class GameSession {
         this.id = id;
     }
 
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public void setSessionKey(String sessionKey) {
+        this.sessionKey = sessionKey;
+    }
+
     public User getUser() {
         return user;
     }
@@ -187,6 +212,22 @@ public class GameSession {
         this.durationSeconds = durationSeconds;
     }
 
+    public Boolean getRolledUp() {
+        return rolledUp;
+    }
+
+    public void setRolledUp(Boolean rolledUp) {
+        this.rolledUp = rolledUp;
+    }
+
+    public Boolean getStatsApplied() {
+        return statsApplied;
+    }
+
+    public void setStatsApplied(Boolean statsApplied) {
+        this.statsApplied = statsApplied;
+    }
+
     public double getAccuracy() {
         return shotsFired > 0 ? (double) shotsHit / shotsFired * 100 : 0;
     }
@@ -3,8 +3,12 @@ package com.server.Panzers.model;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 @Entity
 @Table(name = "game_statistics")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class GameStatistics {
 
     @Id
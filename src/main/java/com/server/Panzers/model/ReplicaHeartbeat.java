@@ -0,0 +1,32 @@
+package com.server.Panzers.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+// Single-row table the primary stamps periodically; reading it back from the replica tells
+// how far replication is behind (see ReplicaLagMonitor). Only touched through JDBC.
+@Entity
+@Table(name = "replica_heartbeat")
+public class ReplicaHeartbeat {
+
+    @Id
+    private Integer id;
+
+    // Epoch millis of the last stamp written to the primary
+    @Column(name = "beat_at", nullable = false)
+    private Long beatAt;
+
+    public ReplicaHeartbeat() {
+    }
+
+    // Getters
+    public Integer getId() {
+        return id;
+    }
+
+    public Long getBeatAt() {
+        return beatAt;
+    }
+}
@@ -0,0 +1,191 @@
+package com.server.Panzers.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+@Entity
+@Table(name = "session_rollups", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_session_rollups_bucket", columnNames = {"granularity", "bucket_start"})
+})
+public class SessionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    // Start of the hour/day the sessions started in
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    private Long games = 0L;
+    private Long wins = 0L;
+    private Long losses = 0L;
+    private Long draws = 0L;
+    private Long disconnects = 0L;
+    private Long kills = 0L;
+    private Long deaths = 0L;
+
+    @Column(name = "total_score")
+    private Long totalScore = 0L;
+
+    @Column(name = "total_duration_seconds")
+    private Long totalDurationSeconds = 0L;
+
+    // Constructors
+    public SessionRollup() {
+    }
+
+    public SessionRollup(Granularity granularity, LocalDateTime bucketStart) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+    }
+
+    // Utility methods
+    public void addSession(GameSession.GameResult result, int durationSeconds, int sessionKills, int sessionDeaths, int score) {
+        games++;
+        switch (result) {
+            case WIN -> wins++;
+            case LOSS -> losses++;
+            case DRAW -> draws++;
+            case DISCONNECT -> disconnects++;
+        }
+        kills += sessionKills;
+        deaths += sessionDeaths;
+        totalScore += score;
+        totalDurationSeconds += durationSeconds;
+    }
+
+    public void add(SessionRollup other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        disconnects += other.disconnects;
+        kills += other.kills;
+        deaths += other.deaths;
+        totalScore += other.totalScore;
+        totalDurationSeconds += other.totalDurationSeconds;
+    }
+
+    public double getAverageDurationSeconds() {
+        return games > 0 ? (double) totalDurationSeconds / games : 0;
+    }
+
+    public double getAverageScore() {
+        return games > 0 ? (double) totalScore / games : 0;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(Granularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getGames() {
+        return games;
+    }
+
+    public void setGames(Long games) {
+        this.games = games;
+    }
+
+    public Long getWins() {
+        return wins;
+    }
+
+    public void setWins(Long wins) {
+        this.wins = wins;
+    }
+
+    public Long getLosses() {
+        return losses;
+    }
+
+    public void setLosses(Long losses) {
+        this.losses = losses;
+    }
+
+    public Long getDraws() {
+        return draws;
+    }
+
+    public void setDraws(Long draws) {
+        this.draws = draws;
+    }
+
+    public Long getDisconnects() {
+        return disconnects;
+    }
+
+    public void setDisconnects(Long disconnects) {
+        this.disconnects = disconnects;
+    }
+
+    public Long getKills() {
+        return kills;
+    }
+
+    public void setKills(Long kills) {
+        this.kills = kills;
+    }
+
+    public Long getDeaths() {
+        return deaths;
+    }
+
+    public void setDeaths(Long deaths) {
+        this.deaths = deaths;
+    }
+
+    public Long getTotalScore() {
+        return totalScore;
+    }
+
+    public void setTotalScore(Long totalScore) {
+        this.totalScore = totalScore;
+    }
+
+    public Long getTotalDurationSeconds() {
+        return totalDurationSeconds;
+    }
+
+    public void setTotalDurationSeconds(Long totalDurationSeconds) {
+        this.totalDurationSeconds = totalDurationSeconds;
+    }
+
+    public enum Granularity {
+        HOURLY, DAILY
+    }
+}
@@ -3,6 +3,11 @@ package com.server.Panzers.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -11,7 +16,6 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
@@ -20,6 +24,8 @@ import jakarta.validation.constraints.Size;
 
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class User {
 
     @Id
@@ -28,6 +34,7 @@ public class User {
 
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    @NaturalId
     @Column(unique = true, nullable = false)
     private String username;
 
@@ -48,8 +55,9 @@ public class User {
     @Column(name = "is_active")
     private Boolean isActive = true;
 
-    @OneToOne(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    private GameStatistics gameStatistics;
+    // No inverse mapping to GameStatistics: an inverse one-to-one cannot be lazy, so every
+    // User load (including from the second-level cache) would query game_statistics.
+    // Statistics are looked up through GameStatisticsRepository.findByUserId.
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<GameSession> gameSessions;
@@ -127,14 +135,6 @@ public class User {
         this.isActive = isActive;
     }
 
-    public GameStatistics getGameStatistics() {
-        return gameStatistics;
-    }
-
-    public void setGameStatistics(GameStatistics gameStatistics) {
-        this.gameStatistics = gameStatistics;
-    }
-
     public List<GameSession> getGameSessions() {
         return gameSessions;
     }
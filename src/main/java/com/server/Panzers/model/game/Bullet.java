@@ -2,10 +2,13 @@ package com.server.Panzers.model.game;
 
 import java.util.concurrent.atomic.AtomicLong;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class Bullet {
 
     private static final AtomicLong ID_GENERATOR = new AtomicLong(0);
 
+    private final long number; // Short key for this bullet in bullet events
     private final String id;
     private double x;
     private double y;
@@ -27,7 +30,8 @@ public class Bullet {
     private double initialY;
 
     public Bullet() {
-        this.id = "bullet_" + ID_GENERATOR.incrementAndGet();
+        this.number = ID_GENERATOR.incrementAndGet();
+        this.id = "bullet_" + number;
         this.speed = DEFAULT_SPEED;
         this.damage = DEFAULT_DAMAGE;
         this.createdTime = System.currentTimeMillis();
@@ -97,6 +101,11 @@ public class Bullet {
     }
 
     // Getters and Setters
+    @JsonIgnore
+    public long getNumber() {
+        return number;
+    }
+
     public String getId() {
         return id;
     }
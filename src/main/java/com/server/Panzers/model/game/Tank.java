@@ -7,6 +7,7 @@ public class Tank {
 
     private static final AtomicLong ID_GENERATOR = new AtomicLong(0);
 
+    private final long number; // Short key for this tank on the v2 wire schema
     private final String id;
     private String playerId;
     private double x;
@@ -34,7 +35,8 @@ public class Tank {
     }
 
     public Tank() {
-        this.id = "tank_" + ID_GENERATOR.incrementAndGet();
+        this.number = ID_GENERATOR.incrementAndGet();
+        this.id = "tank_" + number;
         this.health = MAX_HEALTH;
         this.ammunition = MAX_AMMUNITION;
         this.speed = DEFAULT_SPEED;
@@ -162,6 +164,11 @@ public class Tank {
     }
 
     // Getters and Setters
+    @JsonIgnore
+    public long getNumber() {
+        return number;
+    }
+
     public String getId() {
         return id;
     }
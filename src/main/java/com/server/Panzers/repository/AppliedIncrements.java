@@ -0,0 +1,25 @@
+package com.server.Panzers.repository;
+
+// What a batch of statistics increments changed, as seen inside the writing transaction
+public final class AppliedIncrements {
+
+    public static final AppliedIncrements NONE = new AppliedIncrements(0, 0);
+
+    private final int insertedRows;
+    private final int firstGamePlayers;
+
+    public AppliedIncrements(int insertedRows, int firstGamePlayers) {
+        this.insertedRows = insertedRows;
+        this.firstGamePlayers = firstGamePlayers;
+    }
+
+    // Users who had no game_statistics row yet
+    public int getInsertedRows() {
+        return insertedRows;
+    }
+
+    // Users whose total_games went from 0 to more than 0, including the inserted rows
+    public int getFirstGamePlayers() {
+        return firstGamePlayers;
+    }
+}
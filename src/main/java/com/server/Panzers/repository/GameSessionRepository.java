@@ -2,33 +2,101 @@ package com.server.Panzers.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
 import com.server.Panzers.model.GameSession;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface GameSessionRepository extends JpaRepository<GameSession, Long> {
+public interface GameSessionRepository extends JpaRepository<GameSession, Long>, SessionSnapshotRepository {
 
-    List<GameSession> findByUserIdOrderBySessionStartDesc(Long userId);
+    // Player history (hot tier): paged projections, older sessions live in the archive segments
+    String HISTORY_ENTRY = "SELECT new com.server.Panzers.dto.SessionHistoryEntryDTO(gs.id, gs.user.id, gs.sessionStart, "
+            + "gs.sessionEnd, gs.finalScore, gs.killsInSession, gs.deathsInSession, gs.shotsFired, gs.shotsHit, "
+            + "gs.gameResult, gs.durationSeconds) FROM GameSession gs ";
 
-    List<GameSession> findBySessionStartBetween(LocalDateTime start, LocalDateTime end);
+    @Query(HISTORY_ENTRY + "WHERE gs.user.id = :userId ORDER BY gs.sessionStart DESC, gs.id DESC")
+    List<SessionHistoryEntryDTO> findHistoryByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    @Query("SELECT COUNT(gs) FROM GameSession gs WHERE gs.sessionStart >= :date")
-    long countGamesFromDate(@Param("date") LocalDateTime date);
+    long countByUserId(Long userId);
 
-    @Query("SELECT AVG(gs.durationSeconds) FROM GameSession gs WHERE gs.sessionEnd IS NOT NULL")
-    Double getAverageGameDuration();
+    // Exports: forward-only streams of projections, consumed inside a read-only transaction
+    String EXPORT_FETCH_SIZE = "500";
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(HISTORY_ENTRY + "WHERE gs.user.id = :userId ORDER BY gs.id")
+    Stream<SessionHistoryEntryDTO> streamHistoryByUserId(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(HISTORY_ENTRY + "ORDER BY gs.id")
+    Stream<SessionHistoryEntryDTO> streamAllHistory();
+
+    List<GameSession> findBySessionStartBetween(LocalDateTime start, LocalDateTime end);
 
     @Query("SELECT gs FROM GameSession gs WHERE gs.user.id = :userId ORDER BY gs.finalScore DESC")
     List<GameSession> findUserBestScores(@Param("userId") Long userId);
 
-    @Query("SELECT COUNT(gs) FROM GameSession gs WHERE gs.gameResult = :result AND gs.sessionStart >= :date")
-    long countGamesByResultFromDate(@Param("result") GameSession.GameResult result, @Param("date") LocalDateTime date);
-
     @Query("SELECT gs FROM GameSession gs WHERE gs.sessionEnd IS NULL")
     List<GameSession> findActiveSessions();
+
+    // Rollup pipeline: finished sessions not yet aggregated into session_rollups
+    @Query("SELECT gs.id AS id, gs.sessionStart AS sessionStart, gs.gameResult AS gameResult, gs.durationSeconds AS durationSeconds, "
+            + "gs.killsInSession AS killsInSession, gs.deathsInSession AS deathsInSession, gs.finalScore AS finalScore "
+            + "FROM GameSession gs WHERE gs.rolledUp = false AND gs.sessionEnd IS NOT NULL ORDER BY gs.sessionEnd")
+    List<FinishedSessionRow> findSessionsToRollUp(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE GameSession gs SET gs.rolledUp = true WHERE gs.id IN :ids")
+    int markRolledUp(@Param("ids") List<Long> ids);
+
+    interface FinishedSessionRow {
+
+        Long getId();
+
+        LocalDateTime getSessionStart();
+
+        GameSession.GameResult getGameResult();
+
+        Integer getDurationSeconds();
+
+        Integer getKillsInSession();
+
+        Integer getDeathsInSession();
+
+        Integer getFinalScore();
+    }
+
+    // Cold archival: only sessions already counted by the rollups leave the table
+    @Query(HISTORY_ENTRY + "WHERE gs.rolledUp = true AND gs.sessionEnd < :cutoff ORDER BY gs.id")
+    List<SessionHistoryEntryDTO> findSessionsToArchive(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM GameSession gs WHERE gs.id IN :ids")
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    // Stale session maintenance: ids are read through idx_game_sessions_open in start order and
+    // closed chunk by chunk, each chunk in its own short transaction
+    @Query("SELECT gs.id FROM GameSession gs WHERE gs.sessionEnd IS NULL AND gs.sessionStart < :cutoff ORDER BY gs.sessionStart")
+    List<Long> findStaleSessionIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE game_sessions SET session_end = :now, game_result = 'DISCONNECT', "
+            + "duration_seconds = TIMESTAMPDIFF(SECOND, session_start, :now) "
+            + "WHERE id IN (:ids) AND session_end IS NULL AND session_start < :cutoff", nativeQuery = true)
+    int closeStaleSessions(@Param("ids") List<Long> ids, @Param("cutoff") LocalDateTime cutoff, @Param("now") LocalDateTime now);
 }
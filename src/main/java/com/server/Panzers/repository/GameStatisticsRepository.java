@@ -2,17 +2,26 @@ package com.server.Panzers.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.server.Panzers.dto.LeaderboardEntryDTO;
 import com.server.Panzers.model.GameStatistics;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
-public interface GameStatisticsRepository extends JpaRepository<GameStatistics, Long> {
+public interface GameStatisticsRepository extends JpaRepository<GameStatistics, Long>, StatisticsIncrementRepository {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<GameStatistics> findByUserId(Long userId);
 
     @Query("SELECT gs FROM GameStatistics gs ORDER BY gs.totalScore DESC")
@@ -27,9 +36,55 @@ public interface GameStatisticsRepository extends JpaRepository<GameStatistics,
     @Query("SELECT gs FROM GameStatistics gs WHERE gs.deaths > 0 ORDER BY (CAST(gs.kills AS DOUBLE) / gs.deaths) DESC")
     List<GameStatistics> findTopPlayersByKDRatio();
 
+    // Leaderboard pages: one JOIN query per page, rows projected straight into DTOs. Cached in
+    // their own query region, which statistics writes evict without touching other cached queries.
+    String LEADERBOARD_REGION = "leaderboard";
+    String LEADERBOARD_ENTRY = "SELECT new com.server.Panzers.dto.LeaderboardEntryDTO(u.username, gs.totalGames, "
+            + "gs.wins, gs.losses, gs.draws, gs.kills, gs.deaths, gs.totalScore, gs.highestScore, gs.shotsFired, gs.shotsHit) "
+            + "FROM GameStatistics gs JOIN gs.user u ";
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LEADERBOARD_REGION)})
+    @Query(LEADERBOARD_ENTRY + "ORDER BY gs.totalScore DESC, gs.id")
+    List<LeaderboardEntryDTO> findScoreLeaderboard(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LEADERBOARD_REGION)})
+    @Query(LEADERBOARD_ENTRY + "ORDER BY gs.wins DESC, gs.id")
+    List<LeaderboardEntryDTO> findWinsLeaderboard(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LEADERBOARD_REGION)})
+    @Query(LEADERBOARD_ENTRY + "WHERE gs.deaths > 0 ORDER BY (CAST(gs.kills AS DOUBLE) / gs.deaths) DESC, gs.id")
+    List<LeaderboardEntryDTO> findKDRatioLeaderboard(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = LEADERBOARD_REGION)})
+    @Query(LEADERBOARD_ENTRY + "WHERE gs.shotsFired > 0 ORDER BY (CAST(gs.shotsHit AS DOUBLE) / gs.shotsFired) DESC, gs.id")
+    List<LeaderboardEntryDTO> findAccuracyLeaderboard(Pageable pageable);
+
+    // Exports reuse the leaderboard projection, streamed in id order
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = GameSessionRepository.EXPORT_FETCH_SIZE))
+    @Query(LEADERBOARD_ENTRY + "ORDER BY gs.id")
+    Stream<LeaderboardEntryDTO> streamAllEntries();
+
+    @Query(LEADERBOARD_ENTRY + "WHERE u.id = :userId")
+    Stream<LeaderboardEntryDTO> streamEntriesByUserId(@Param("userId") Long userId);
+
     @Query("SELECT AVG(gs.totalScore) FROM GameStatistics gs WHERE gs.totalGames > 0")
     Double getAverageScore();
 
     @Query("SELECT COUNT(gs) FROM GameStatistics gs WHERE gs.totalGames >= :minGames")
     long countActivePlayersWithMinGames(@Param("minGames") int minGames);
+
+    // Inputs of getAverageScore() in one pass, so the average can be maintained incrementally
+    @Query("SELECT COUNT(gs) AS players, COALESCE(SUM(gs.totalScore), 0) AS totalScore FROM GameStatistics gs WHERE gs.totalGames > 0")
+    ScoreAggregate getScoreAggregate();
+
+    interface ScoreAggregate {
+
+        long getPlayers();
+
+        long getTotalScore();
+    }
 }
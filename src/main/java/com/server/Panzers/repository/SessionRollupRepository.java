@@ -0,0 +1,50 @@
+package com.server.Panzers.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.server.Panzers.model.SessionRollup;
+
+@Repository
+public interface SessionRollupRepository extends JpaRepository<SessionRollup, Long> {
+
+    List<SessionRollup> findByGranularityAndBucketStartIn(SessionRollup.Granularity granularity, Collection<LocalDateTime> bucketStarts);
+
+    List<SessionRollup> findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            SessionRollup.Granularity granularity, LocalDateTime from, LocalDateTime to);
+
+    @Query("SELECT COALESCE(SUM(r.games), 0) AS games, COALESCE(SUM(r.wins), 0) AS wins, COALESCE(SUM(r.losses), 0) AS losses, "
+            + "COALESCE(SUM(r.draws), 0) AS draws, COALESCE(SUM(r.disconnects), 0) AS disconnects, COALESCE(SUM(r.kills), 0) AS kills, "
+            + "COALESCE(SUM(r.deaths), 0) AS deaths, COALESCE(SUM(r.totalScore), 0) AS totalScore, "
+            + "COALESCE(SUM(r.totalDurationSeconds), 0) AS totalDurationSeconds "
+            + "FROM SessionRollup r WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    RollupTotals sumBuckets(@Param("granularity") SessionRollup.Granularity granularity,
+            @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    interface RollupTotals {
+
+        long getGames();
+
+        long getWins();
+
+        long getLosses();
+
+        long getDraws();
+
+        long getDisconnects();
+
+        long getKills();
+
+        long getDeaths();
+
+        long getTotalScore();
+
+        long getTotalDurationSeconds();
+    }
+}
@@ -0,0 +1,117 @@
+package com.server.Panzers.repository;
+
+import java.time.LocalDateTime;
+
+import com.server.Panzers.model.GameSession;
+
+// Immutable copy of a live session's counters, taken on the game thread. Counters only grow,
+// so writing the latest snapshot of a session supersedes every earlier one and writing the
+// same snapshot twice is harmless.
+public final class SessionSnapshot {
+
+    private static final String SEPARATOR = "\t";
+    private static final String NONE = "-";
+
+    private final String sessionKey;
+    private final long userId;
+    private final LocalDateTime sessionStart;
+    private final LocalDateTime sessionEnd;
+    private final int finalScore;
+    private final int killsInSession;
+    private final int deathsInSession;
+    private final int shotsFired;
+    private final int shotsHit;
+    private final GameSession.GameResult gameResult;
+    private final int durationSeconds;
+
+    private SessionSnapshot(String sessionKey, long userId, LocalDateTime sessionStart, LocalDateTime sessionEnd,
+            int finalScore, int killsInSession, int deathsInSession, int shotsFired, int shotsHit,
+            GameSession.GameResult gameResult, int durationSeconds) {
+        this.sessionKey = sessionKey;
+        this.userId = userId;
+        this.sessionStart = sessionStart;
+        this.sessionEnd = sessionEnd;
+        this.finalScore = finalScore;
+        this.killsInSession = killsInSession;
+        this.deathsInSession = deathsInSession;
+        this.shotsFired = shotsFired;
+        this.shotsHit = shotsHit;
+        this.gameResult = gameResult;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public static SessionSnapshot of(GameSession session) {
+        return new SessionSnapshot(session.getSessionKey(), session.getUser().getId(), session.getSessionStart(),
+                session.getSessionEnd(), session.getFinalScore(), session.getKillsInSession(),
+                session.getDeathsInSession(), session.getShotsFired(), session.getShotsHit(),
+                session.getGameResult(), session.getDurationSeconds());
+    }
+
+    // One line of the spill file
+    public String toLine() {
+        return String.join(SEPARATOR, sessionKey, Long.toString(userId), sessionStart.toString(),
+                sessionEnd != null ? sessionEnd.toString() : NONE, Integer.toString(finalScore),
+                Integer.toString(killsInSession), Integer.toString(deathsInSession), Integer.toString(shotsFired),
+                Integer.toString(shotsHit), gameResult.name(), Integer.toString(durationSeconds));
+    }
+
+    public static SessionSnapshot fromLine(String line) {
+        String[] fields = line.split(SEPARATOR);
+        if (fields.length != 11) {
+            throw new IllegalArgumentException("Expected 11 fields, got " + fields.length);
+        }
+        return new SessionSnapshot(fields[0], Long.parseLong(fields[1]), LocalDateTime.parse(fields[2]),
+                NONE.equals(fields[3]) ? null : LocalDateTime.parse(fields[3]), Integer.parseInt(fields[4]),
+                Integer.parseInt(fields[5]), Integer.parseInt(fields[6]), Integer.parseInt(fields[7]),
+                Integer.parseInt(fields[8]), GameSession.GameResult.valueOf(fields[9]), Integer.parseInt(fields[10]));
+    }
+
+    public boolean isEnded() {
+        return sessionEnd != null;
+    }
+
+    // Getters
+    public String getSessionKey() {
+        return sessionKey;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getSessionStart() {
+        return sessionStart;
+    }
+
+    public LocalDateTime getSessionEnd() {
+        return sessionEnd;
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    public int getKillsInSession() {
+        return killsInSession;
+    }
+
+    public int getDeathsInSession() {
+        return deathsInSession;
+    }
+
+    public int getShotsFired() {
+        return shotsFired;
+    }
+
+    public int getShotsHit() {
+        return shotsHit;
+    }
+
+    public GameSession.GameResult getGameResult() {
+        return gameResult;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+}
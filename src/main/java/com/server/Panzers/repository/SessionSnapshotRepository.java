@@ -0,0 +1,12 @@
+package com.server.Panzers.repository;
+
+import java.util.List;
+
+// Idempotent session writes for the session write buffer (fragment of GameSessionRepository)
+public interface SessionSnapshotRepository {
+
+    // Upserts every snapshot by session_key, then claims the ended ones for statistics by
+    // flipping stats_applied. Returns the snapshots claimed by this call; a snapshot that was
+    // already applied (replay after a crash or timeout) is not returned again.
+    List<SessionSnapshot> writeSnapshots(List<SessionSnapshot> snapshots);
+}
@@ -0,0 +1,117 @@
+package com.server.Panzers.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+// Counters are written as absolute values from the snapshot, so replaying a snapshot that
+// already reached the database rewrites the same row with the same values.
+//
+// A row that is already closed (by an earlier ended snapshot or by the stale session cleanup)
+// stays closed: a later live snapshot updates its counters but never sets session_end back to
+// NULL or replaces the result and duration it was closed with. game_result and
+// duration_seconds are assigned before session_end because MySQL evaluates the assignments
+// left to right, so both CASEs see the row's old session_end.
+class SessionSnapshotRepositoryImpl implements SessionSnapshotRepository {
+
+    private static final String UPDATE = "UPDATE game_sessions SET "
+            + "game_result = CASE WHEN ? OR session_end IS NULL THEN ? ELSE game_result END, "
+            + "duration_seconds = CASE WHEN ? OR session_end IS NULL THEN ? ELSE duration_seconds END, "
+            + "session_end = COALESCE(?, session_end), final_score = ?, kills_in_session = ?, deaths_in_session = ?, "
+            + "shots_fired = ?, shots_hit = ? WHERE session_key = ?";
+    private static final String INSERT = "INSERT INTO game_sessions (session_end, final_score, kills_in_session, "
+            + "deaths_in_session, shots_fired, shots_hit, game_result, duration_seconds, session_key, user_id, "
+            + "session_start, rolled_up, stats_applied) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, FALSE, FALSE)";
+    private static final String CLAIM_STATISTICS = "UPDATE game_sessions SET stats_applied = TRUE "
+            + "WHERE session_key = ? AND session_end IS NOT NULL AND stats_applied = FALSE";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    SessionSnapshotRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<SessionSnapshot> writeSnapshots(List<SessionSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return List.of();
+        }
+        List<SessionSnapshot> missing = update(snapshots);
+        if (!missing.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT, missing, missing.size(), (ps, snapshot) -> {
+                    bind(ps, snapshot);
+                    ps.setLong(10, snapshot.getUserId());
+                    ps.setTimestamp(11, Timestamp.valueOf(snapshot.getSessionStart()));
+                });
+            } catch (DuplicateKeyException e) {
+                // Inserted by an earlier attempt whose outcome was unknown: update it instead
+                if (!update(missing).isEmpty()) {
+                    throw e;
+                }
+            }
+        }
+
+        List<SessionSnapshot> ended = snapshots.stream().filter(SessionSnapshot::isEnded).toList();
+        return ended.isEmpty() ? List.of() : matched(CLAIM_STATISTICS, ended, true,
+                (ps, snapshot) -> ps.setString(1, snapshot.getSessionKey()));
+    }
+
+    // Returns the snapshots whose row does not exist yet
+    private List<SessionSnapshot> update(List<SessionSnapshot> snapshots) {
+        return matched(UPDATE, snapshots, false, SessionSnapshotRepositoryImpl::bindUpdate);
+    }
+
+    // Runs the statement for every snapshot and keeps those with (or without) an affected row
+    private List<SessionSnapshot> matched(String sql, List<SessionSnapshot> snapshots, boolean affected,
+            ParameterizedPreparedStatementSetter<SessionSnapshot> setter) {
+        int[][] counts = jdbcTemplate.batchUpdate(sql, snapshots, snapshots.size(), setter);
+        List<SessionSnapshot> result = new ArrayList<>();
+        int row = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if ((count != 0) == affected) {
+                    result.add(snapshots.get(row));
+                }
+                row++;
+            }
+        }
+        return result;
+    }
+
+    private static void bindUpdate(PreparedStatement ps, SessionSnapshot snapshot) throws SQLException {
+        ps.setBoolean(1, snapshot.isEnded());
+        ps.setString(2, snapshot.getGameResult().name());
+        ps.setBoolean(3, snapshot.isEnded());
+        ps.setInt(4, snapshot.getDurationSeconds());
+        ps.setTimestamp(5, sessionEnd(snapshot));
+        ps.setInt(6, snapshot.getFinalScore());
+        ps.setInt(7, snapshot.getKillsInSession());
+        ps.setInt(8, snapshot.getDeathsInSession());
+        ps.setInt(9, snapshot.getShotsFired());
+        ps.setInt(10, snapshot.getShotsHit());
+        ps.setString(11, snapshot.getSessionKey());
+    }
+
+    private static void bind(PreparedStatement ps, SessionSnapshot snapshot) throws SQLException {
+        ps.setTimestamp(1, sessionEnd(snapshot));
+        ps.setInt(2, snapshot.getFinalScore());
+        ps.setInt(3, snapshot.getKillsInSession());
+        ps.setInt(4, snapshot.getDeathsInSession());
+        ps.setInt(5, snapshot.getShotsFired());
+        ps.setInt(6, snapshot.getShotsHit());
+        ps.setString(7, snapshot.getGameResult().name());
+        ps.setInt(8, snapshot.getDurationSeconds());
+        ps.setString(9, snapshot.getSessionKey());
+    }
+
+    private static Timestamp sessionEnd(SessionSnapshot snapshot) {
+        return snapshot.getSessionEnd() != null ? Timestamp.valueOf(snapshot.getSessionEnd()) : null;
+    }
+}
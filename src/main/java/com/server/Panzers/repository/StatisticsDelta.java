@@ -0,0 +1,107 @@
+package com.server.Panzers.repository;
+
+// Increments for one user's game_statistics row, accumulated from one or more finished
+// sessions. Counters are added, highestScore is combined with GREATEST.
+public final class StatisticsDelta {
+
+    private final long userId;
+    private int games;
+    private int wins;
+    private int losses;
+    private int draws;
+    private int kills;
+    private int deaths;
+    private long totalScore;
+    private int highestScore;
+    private long playtimeSeconds;
+    private int shotsFired;
+    private int shotsHit;
+
+    public StatisticsDelta(long userId) {
+        this.userId = userId;
+    }
+
+    // Same rules as GameStatistics.addGame plus the shot counters
+    public static StatisticsDelta of(SessionSnapshot session) {
+        StatisticsDelta delta = new StatisticsDelta(session.getUserId());
+        delta.games = 1;
+        switch (session.getGameResult()) {
+            case WIN -> delta.wins = 1;
+            case LOSS -> delta.losses = 1;
+            case DRAW -> delta.draws = 1;
+            case DISCONNECT -> {} // Counted as a game only
+        }
+        delta.kills = session.getKillsInSession();
+        delta.deaths = session.getDeathsInSession();
+        delta.totalScore = session.getFinalScore();
+        delta.highestScore = session.getFinalScore();
+        delta.playtimeSeconds = session.getDurationSeconds();
+        delta.shotsFired = session.getShotsFired();
+        delta.shotsHit = session.getShotsHit();
+        return delta;
+    }
+
+    public StatisticsDelta merge(StatisticsDelta other) {
+        games += other.games;
+        wins += other.wins;
+        losses += other.losses;
+        draws += other.draws;
+        kills += other.kills;
+        deaths += other.deaths;
+        totalScore += other.totalScore;
+        highestScore = Math.max(highestScore, other.highestScore);
+        playtimeSeconds += other.playtimeSeconds;
+        shotsFired += other.shotsFired;
+        shotsHit += other.shotsHit;
+        return this;
+    }
+
+    // Getters
+    public long getUserId() {
+        return userId;
+    }
+
+    public int getGames() {
+        return games;
+    }
+
+    public int getWins() {
+        return wins;
+    }
+
+    public int getLosses() {
+        return losses;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getKills() {
+        return kills;
+    }
+
+    public int getDeaths() {
+        return deaths;
+    }
+
+    public long getTotalScore() {
+        return totalScore;
+    }
+
+    public int getHighestScore() {
+        return highestScore;
+    }
+
+    public long getPlaytimeSeconds() {
+        return playtimeSeconds;
+    }
+
+    public int getShotsFired() {
+        return shotsFired;
+    }
+
+    public int getShotsHit() {
+        return shotsHit;
+    }
+}
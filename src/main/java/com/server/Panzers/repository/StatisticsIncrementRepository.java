@@ -0,0 +1,21 @@
+package com.server.Panzers.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+// Atomic, batched writes to game_statistics (fragment of GameStatisticsRepository)
+public interface StatisticsIncrementRepository {
+
+    // Adds every delta onto its user's row, or inserts the row if it does not exist yet, with one
+    // upsert per delta in one JDBC batch. Must run in a transaction: the rows are read and locked
+    // first to report which users are new and which play their first game.
+    AppliedIncrements applyIncrements(List<StatisticsDelta> deltas);
+
+    // JDBC writes bypass Hibernate, so cached data has to be dropped explicitly once the writing
+    // transaction has committed: the cached entities of these users and the leaderboard pages.
+    // Cached findByUserId results only hold row ids, which the increments do not change.
+    void evictCachedStatistics(Collection<Long> userIds);
+
+    // After rewriting every row: all cached statistics and query results
+    void evictAllCachedStatistics();
+}
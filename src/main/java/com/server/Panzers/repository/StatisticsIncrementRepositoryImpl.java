@@ -0,0 +1,129 @@
+package com.server.Panzers.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.server.Panzers.model.GameStatistics;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// One upsert per user: the row is inserted or added onto in a single statement, so concurrent
+// writers cannot lose each other's increments the way a load-modify-save of the entity can, and
+// a batch never has to be retried (a retry could add the rows it had already inserted twice)
+class StatisticsIncrementRepositoryImpl implements StatisticsIncrementRepository {
+
+    private static final String UPSERT = "INSERT INTO game_statistics (total_games, wins, losses, draws, kills, deaths, "
+            + "total_score, highest_score, total_playtime_seconds, shots_fired, shots_hit, updated_at, user_id, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "total_games = total_games + VALUES(total_games), wins = wins + VALUES(wins), "
+            + "losses = losses + VALUES(losses), draws = draws + VALUES(draws), kills = kills + VALUES(kills), "
+            + "deaths = deaths + VALUES(deaths), total_score = total_score + VALUES(total_score), "
+            + "highest_score = GREATEST(highest_score, VALUES(highest_score)), "
+            + "total_playtime_seconds = total_playtime_seconds + VALUES(total_playtime_seconds), "
+            + "shots_fired = shots_fired + VALUES(shots_fired), shots_hit = shots_hit + VALUES(shots_hit), "
+            + "updated_at = VALUES(updated_at)";
+
+    private static final int LOOKUP_CHUNK = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    StatisticsIncrementRepositoryImpl(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void evictCachedStatistics(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        List<Long> ids = new ArrayList<>(userIds);
+        for (int from = 0; from < ids.size(); from += LOOKUP_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + LOOKUP_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            List<Long> statisticsIds = jdbcTemplate.queryForList(
+                    "SELECT id FROM game_statistics WHERE user_id IN (" + placeholders + ")", Long.class, chunk.toArray());
+            for (Long statisticsId : statisticsIds) {
+                cache.evictEntityData(GameStatistics.class, statisticsId);
+            }
+        }
+        cache.evictQueryRegion(GameStatisticsRepository.LEADERBOARD_REGION);
+    }
+
+    @Override
+    public void evictAllCachedStatistics() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(GameStatistics.class);
+        cache.evictQueryRegion(GameStatisticsRepository.LEADERBOARD_REGION);
+        cache.evictDefaultQueryRegion();
+    }
+
+    @Override
+    public AppliedIncrements applyIncrements(List<StatisticsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return AppliedIncrements.NONE;
+        }
+        // The update counts of a rewritten batch carry no per-row information, so the rows are
+        // read (and locked until commit) before they are changed
+        Map<Long, Integer> gamesBefore = lockTotalGames(deltas);
+        int inserted = 0;
+        int firstGames = 0;
+        for (StatisticsDelta delta : deltas) {
+            Integer games = gamesBefore.get(delta.getUserId());
+            if (games == null) {
+                inserted++;
+            }
+            if ((games == null || games == 0) && delta.getGames() > 0) {
+                firstGames++;
+            }
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT, deltas, deltas.size(), (ps, delta) -> bind(ps, delta, now));
+        return new AppliedIncrements(inserted, firstGames);
+    }
+
+    private Map<Long, Integer> lockTotalGames(List<StatisticsDelta> deltas) {
+        Map<Long, Integer> totalGames = new HashMap<>();
+        for (int from = 0; from < deltas.size(); from += LOOKUP_CHUNK) {
+            List<StatisticsDelta> chunk = deltas.subList(from, Math.min(deltas.size(), from + LOOKUP_CHUNK));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            RowCallbackHandler collect = rs -> totalGames.put(rs.getLong(1), rs.getInt(2));
+            jdbcTemplate.query("SELECT user_id, total_games FROM game_statistics WHERE user_id IN (" + placeholders
+                    + ") FOR UPDATE", collect, chunk.stream().map(StatisticsDelta::getUserId).toArray());
+        }
+        return totalGames;
+    }
+
+    private static void bind(PreparedStatement ps, StatisticsDelta delta, Timestamp now) throws SQLException {
+        ps.setInt(1, delta.getGames());
+        ps.setInt(2, delta.getWins());
+        ps.setInt(3, delta.getLosses());
+        ps.setInt(4, delta.getDraws());
+        ps.setInt(5, delta.getKills());
+        ps.setInt(6, delta.getDeaths());
+        ps.setLong(7, delta.getTotalScore());
+        ps.setInt(8, delta.getHighestScore());
+        ps.setLong(9, delta.getPlaytimeSeconds());
+        ps.setInt(10, delta.getShotsFired());
+        ps.setInt(11, delta.getShotsHit());
+        ps.setTimestamp(12, now);
+        ps.setLong(13, delta.getUserId());
+        ps.setTimestamp(14, now);
+    }
+}
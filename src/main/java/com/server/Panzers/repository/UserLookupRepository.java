@@ -0,0 +1,12 @@
+package com.server.Panzers.repository;
+
+import java.util.Optional;
+
+import com.server.Panzers.model.User;
+
+// Username lookups by natural id (fragment of UserRepository), answered from the
+// second-level cache when the user has been seen before
+public interface UserLookupRepository {
+
+    Optional<User> findByUsername(String username);
+}
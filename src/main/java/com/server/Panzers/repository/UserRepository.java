@@ -12,9 +12,7 @@ import org.springframework.stereotype.Repository;
 import com.server.Panzers.model.User;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserLookupRepository {
 
     Optional<User> findByEmail(String email);
 
@@ -27,10 +25,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.lastLogin > :since")
     List<User> findRecentlyActiveUsers(@Param("since") LocalDateTime since);
 
-    @Query("SELECT u FROM User u JOIN u.gameStatistics gs ORDER BY gs.totalScore DESC")
+    @Query("SELECT u FROM User u JOIN GameStatistics gs ON gs.user = u ORDER BY gs.totalScore DESC")
     List<User> findTopPlayersByScore();
 
-    @Query("SELECT u FROM User u JOIN u.gameStatistics gs ORDER BY gs.wins DESC")
+    @Query("SELECT u FROM User u JOIN GameStatistics gs ON gs.user = u ORDER BY gs.wins DESC")
     List<User> findTopPlayersByWins();
 
     @Query("SELECT COUNT(u) FROM User u WHERE u.createdAt >= :date")
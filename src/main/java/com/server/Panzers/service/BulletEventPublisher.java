@@ -0,0 +1,83 @@
+package com.server.Panzers.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.server.Panzers.dto.BulletEventsDTO;
+import com.server.Panzers.model.game.Bullet;
+import com.server.Panzers.model.game.Tank;
+
+// Collects bullet spawns, hits and removals and sends them once per tick on /topic/bullets, so
+// v2 snapshots no longer repeat the position of every bullet in flight. Events go through the
+// broker rather than the game state broadcaster: unlike a snapshot, a missed event is not
+// superseded by the next one.
+//
+// Shots arrive on inbound threads, so spawns are queued concurrently; everything else happens
+// on the game loop thread.
+@Component
+public class BulletEventPublisher {
+
+    public static final String DESTINATION = "/topic/bullets";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Queue<long[]> spawned = new ConcurrentLinkedQueue<>();
+    private List<long[]> hits = new ArrayList<>();
+    private List<Long> destroyed = new ArrayList<>();
+
+    public BulletEventPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    // Call before the bullet becomes visible to the game loop, so its spawn is never sent
+    // after its removal
+    public void spawned(Bullet bullet, long tick) {
+        spawned.add(spawnEvent(bullet, tick));
+    }
+
+    public void hit(Bullet bullet, Tank tank) {
+        hits.add(new long[]{bullet.getNumber(), tank.getNumber()});
+    }
+
+    public void destroyed(Bullet bullet) {
+        destroyed.add(bullet.getNumber());
+    }
+
+    public void publish(long tick) {
+        if (spawned.isEmpty() && hits.isEmpty() && destroyed.isEmpty()) {
+            return;
+        }
+        List<long[]> spawnedNow = new ArrayList<>();
+        long[] event;
+        while ((event = spawned.poll()) != null) {
+            spawnedNow.add(event);
+        }
+        BulletEventsDTO events = new BulletEventsDTO(tick, spawnedNow, hits, destroyed);
+        hits = new ArrayList<>();
+        destroyed = new ArrayList<>();
+        messagingTemplate.convertAndSend(DESTINATION, events);
+    }
+
+    // Every bullet in flight as a spawn at its current position, for clients that just subscribed
+    public BulletEventsDTO keyframe(List<Bullet> bullets, long tick) {
+        List<long[]> inFlight = new ArrayList<>();
+        synchronized (bullets) {
+            for (Bullet bullet : bullets) {
+                if (bullet.isActive()) {
+                    inFlight.add(spawnEvent(bullet, tick));
+                }
+            }
+        }
+        return new BulletEventsDTO(tick, inFlight, List.of(), List.of());
+    }
+
+    private static long[] spawnEvent(Bullet bullet, long tick) {
+        return new long[]{bullet.getNumber(), Math.round(bullet.getX()), Math.round(bullet.getY()),
+            bullet.getDirection().ordinal(), tick};
+    }
+}
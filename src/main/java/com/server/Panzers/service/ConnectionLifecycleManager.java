@@ -0,0 +1,97 @@
+package com.server.Panzers.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+// Keeps the game in step with the WebSocket connections. A client that closes its tab never
+// sends /game/leave, so its tank, stats, score and open game session are removed when the
+// connection closes, once the resume grace period has passed without a reconnect. Players that
+// send no input for longer than the idle timeout are removed too, and their connection closed.
+@Component
+public class ConnectionLifecycleManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionLifecycleManager.class.getName());
+    private static final CloseStatus IDLE = new CloseStatus(4000, "Idle");
+
+    private final GameService gameService;
+    private final GameStateBroadcaster gameStateBroadcaster;
+    private final long idleTimeoutMillis;
+
+    // Open STOMP connections: session id -> connected at
+    private final Map<String, Long> connections = new ConcurrentHashMap<>();
+
+    // Metrics
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong closed = new AtomicLong();
+    private final AtomicLong playersDisconnected = new AtomicLong();
+    private final AtomicLong playersEvictedIdle = new AtomicLong();
+
+    public ConnectionLifecycleManager(GameService gameService, GameStateBroadcaster gameStateBroadcaster,
+            @Value("${tank.game.connection.idle-timeout:300000}") long idleTimeoutMillis) {
+        this.gameService = gameService;
+        this.gameStateBroadcaster = gameStateBroadcaster;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId != null && connections.put(sessionId, System.currentTimeMillis()) == null) {
+            opened.incrementAndGet();
+        }
+    }
+
+    // Published once per closed connection, whether or not the client sent DISCONNECT
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        if (connections.remove(event.getSessionId()) != null) {
+            closed.incrementAndGet();
+        }
+        String playerId = gameService.handleDisconnect(event.getSessionId());
+        if (playerId != null) {
+            playersDisconnected.incrementAndGet();
+            LOGGER.info(() -> "Player " + playerId + " lost its connection (" + event.getCloseStatus() + ")");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tank.game.connection.idle-check-interval:10000}")
+    public void evictIdlePlayers() {
+        List<String> evicted = gameService.evictIdlePlayers(System.currentTimeMillis() - idleTimeoutMillis);
+        for (String sessionId : evicted) {
+            playersEvictedIdle.incrementAndGet();
+            gameStateBroadcaster.closeSession(sessionId, IDLE);
+        }
+    }
+
+    public int getOpenConnections() {
+        return connections.size();
+    }
+
+    public long getOpenedCount() {
+        return opened.get();
+    }
+
+    public long getClosedCount() {
+        return closed.get();
+    }
+
+    public long getPlayersDisconnected() {
+        return playersDisconnected.get();
+    }
+
+    public long getPlayersEvictedIdle() {
+        return playersEvictedIdle.get();
+    }
+}
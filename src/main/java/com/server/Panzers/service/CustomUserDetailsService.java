@@ -1,5 +1,8 @@
 package com.server.Panzers.service;
 
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User.UserBuilder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -13,9 +16,13 @@ import com.server.Panzers.repository.UserRepository;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Set<String> adminUsernames;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    // Admins (ROLE_ADMIN) are listed by username in configuration; there is no admin flag in the schema
+    public CustomUserDetailsService(UserRepository userRepository,
+            @Value("${tank.security.admin-usernames:}") Set<String> adminUsernames) {
         this.userRepository = userRepository;
+        this.adminUsernames = adminUsernames;
     }
 
     @Override
@@ -29,7 +36,11 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         UserBuilder builder = org.springframework.security.core.userdetails.User.withUsername(username);
         builder.password(user.getPasswordHash());
-        builder.roles("USER"); // Базовая роль для всех пользователей
+        if (adminUsernames.contains(username)) {
+            builder.roles("USER", "ADMIN");
+        } else {
+            builder.roles("USER"); // Базовая роль для всех пользователей
+        }
 
         return builder.build();
     }
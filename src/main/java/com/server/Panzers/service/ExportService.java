@@ -0,0 +1,194 @@
+package com.server.Panzers.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.server.Panzers.dto.LeaderboardEntryDTO;
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.GameStatisticsRepository;
+
+// Streams sessions and statistics straight from forward-only repository streams to the response.
+// Rows are DTO projections (nothing enters the persistence context) and the output is flushed
+// every FLUSH_ROWS rows, so memory stays constant whatever the size of the export.
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    private static final int FLUSH_ROWS = 500;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int ARCHIVE_PAGE_SIZE = 1000;
+
+    private static final String SESSION_HEADER = "id,userId,sessionStart,sessionEnd,finalScore,kills,deaths,"
+            + "shotsFired,shotsHit,gameResult,durationSeconds,archived";
+    private static final String STATISTICS_HEADER = "username,totalGames,wins,losses,draws,kills,deaths,totalScore,"
+            + "highestScore,shotsFired,shotsHit";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameStatisticsRepository gameStatisticsRepository;
+    private final SessionArchive sessionArchive;
+    private final ObjectMapper objectMapper;
+
+    public ExportService(GameSessionRepository gameSessionRepository, GameStatisticsRepository gameStatisticsRepository,
+            SessionArchive sessionArchive, ObjectMapper objectMapper) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameStatisticsRepository = gameStatisticsRepository;
+        this.sessionArchive = sessionArchive;
+        this.objectMapper = objectMapper;
+    }
+
+    // Database sessions first, then the archived ones; userId == null exports every player
+    public void exportSessions(Long userId, Format format, OutputStream out) throws IOException {
+        try (RowWriter<SessionHistoryEntryDTO> writer = new RowWriter<>(out, format, SESSION_HEADER, ExportService::sessionColumns);
+                Stream<SessionHistoryEntryDTO> hot = userId != null
+                ? gameSessionRepository.streamHistoryByUserId(userId)
+                : gameSessionRepository.streamAllHistory()) {
+            Iterator<SessionHistoryEntryDTO> rows = hot.iterator();
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+            }
+
+            if (userId != null) {
+                long offset = 0;
+                List<SessionHistoryEntryDTO> page;
+                do {
+                    page = sessionArchive.findUserSessions(userId, offset, ARCHIVE_PAGE_SIZE);
+                    for (SessionHistoryEntryDTO row : page) {
+                        writer.write(row);
+                    }
+                    offset += page.size();
+                } while (page.size() == ARCHIVE_PAGE_SIZE);
+            } else {
+                try {
+                    sessionArchive.forEachSession(row -> {
+                        try {
+                            writer.write(row);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+
+    public void exportStatistics(Long userId, Format format, OutputStream out) throws IOException {
+        try (RowWriter<LeaderboardEntryDTO> writer = new RowWriter<>(out, format, STATISTICS_HEADER, ExportService::statisticsColumns);
+                Stream<LeaderboardEntryDTO> stream = userId != null
+                ? gameStatisticsRepository.streamEntriesByUserId(userId)
+                : gameStatisticsRepository.streamAllEntries()) {
+            Iterator<LeaderboardEntryDTO> rows = stream.iterator();
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+            }
+        }
+    }
+
+    private static Object[] sessionColumns(SessionHistoryEntryDTO row) {
+        return new Object[]{row.getId(), row.getUserId(), row.getSessionStart(), row.getSessionEnd(), row.getFinalScore(),
+            row.getKills(), row.getDeaths(), row.getShotsFired(), row.getShotsHit(), row.getGameResult(),
+            row.getDurationSeconds(), row.isArchived()};
+    }
+
+    private static Object[] statisticsColumns(LeaderboardEntryDTO row) {
+        return new Object[]{row.getUsername(), row.getTotalGames(), row.getWins(), row.getLosses(), row.getDraws(),
+            row.getKills(), row.getDeaths(), row.getTotalScore(), row.getHighestScore(), row.getShotsFired(), row.getShotsHit()};
+    }
+
+    private interface Columns<T> {
+
+        Object[] of(T row);
+    }
+
+    // Writes one row per line and flushes to the client in chunks. Closing flushes the tail
+    // but leaves the response stream open for the servlet container.
+    private final class RowWriter<T> implements AutoCloseable {
+
+        private final Writer writer;
+        private final JsonGenerator json;
+        private final Columns<T> columns;
+        private int pending;
+
+        private RowWriter(OutputStream out, Format format, String csvHeader, Columns<T> columns) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.columns = columns;
+            if (format == Format.NDJSON) {
+                this.json = objectMapper.getFactory().createGenerator(writer);
+                this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                this.json.setRootValueSeparator(null); // Rows are separated by the newline alone
+            } else {
+                this.json = null;
+                writer.write(csvHeader);
+                writer.write('\n');
+            }
+        }
+
+        private void write(T row) throws IOException {
+            if (json != null) {
+                json.writeObject(row);
+                json.writeRaw('\n');
+            } else {
+                Object[] values = columns.of(row);
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsvValue(values[i]);
+                }
+                writer.write('\n');
+            }
+            if (++pending == FLUSH_ROWS) {
+                flush();
+            }
+        }
+
+        private void writeCsvValue(Object value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                writer.write(text);
+                return;
+            }
+            writer.write('"');
+            writer.write(text.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        private void flush() throws IOException {
+            if (json != null) {
+                json.flush();
+            }
+            writer.flush();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (json != null) {
+                json.close();
+            }
+            writer.flush();
+        }
+    }
+}
@@ -1,26 +1,36 @@
 package com.server.Panzers.service;
 
+import java.security.SecureRandom;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Random;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
 
 import com.server.Panzers.dto.AchievementDTO;
+import com.server.Panzers.dto.BulletEventsDTO;
+import com.server.Panzers.dto.DeathEventDTO;
 import com.server.Panzers.dto.GameStateDTO;
 import com.server.Panzers.dto.PlayerActionDTO;
+import com.server.Panzers.dto.PlayerSessionDTO;
+import com.server.Panzers.dto.RosterEntryDTO;
+import com.server.Panzers.dto.ScoreboardEntryDTO;
 import com.server.Panzers.model.GameSession;
-import com.server.Panzers.model.User;
 import com.server.Panzers.model.game.Bullet;
 import com.server.Panzers.model.game.Tank;
 import com.server.Panzers.model.game.Tank.Direction;
@@ -30,18 +40,36 @@ public class GameService {
 
     private static final Logger LOGGER = Logger.getLogger(GameService.class.getName());
     private static final Random RANDOM = new Random();
+    private static final SecureRandom TOKEN_RANDOM = new SecureRandom();
+    private static final CloseStatus RESUMED_ELSEWHERE = new CloseStatus(4001, "Resumed on another connection");
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     private final SimpMessagingTemplate messagingTemplate;
-    private final UserService userService;
     private final StatisticsService statisticsService;
     private final GameSessionService gameSessionService;
-
-    public GameService(SimpMessagingTemplate messagingTemplate, UserService userService,
-            StatisticsService statisticsService, GameSessionService gameSessionService) {
+    private final LiveScoreboard liveScoreboard;
+    private final GameStateBroadcaster gameStateBroadcaster;
+    private final HudPublisher hudPublisher;
+    private final BulletEventPublisher bulletEventPublisher;
+
+    public GameService(SimpMessagingTemplate messagingTemplate,
+            StatisticsService statisticsService, GameSessionService gameSessionService,
+            LiveScoreboard liveScoreboard, GameStateBroadcaster gameStateBroadcaster, HudPublisher hudPublisher,
+            BulletEventPublisher bulletEventPublisher,
+            @Value("${tank.game.broadcast.keyframe-interval:30}") int keyframeInterval,
+            @Value("${tank.game.connection.resume-grace:30000}") long resumeGraceMillis) {
         this.messagingTemplate = messagingTemplate;
-        this.userService = userService;
         this.statisticsService = statisticsService;
         this.gameSessionService = gameSessionService;
+        this.liveScoreboard = liveScoreboard;
+        this.gameStateBroadcaster = gameStateBroadcaster;
+        this.hudPublisher = hudPublisher;
+        this.bulletEventPublisher = bulletEventPublisher;
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+        this.resumeGraceMillis = resumeGraceMillis;
+        this.gameStateWriter = new GameStateSnapshotWriter(activeTanks, activeBullets, playerScores, playerStats,
+                gameStartTime);
+        this.gameStateV2Writer = new GameStateV2SnapshotWriter(activeTanks);
     }
 
     // Game state storage
@@ -51,12 +79,36 @@ public class GameService {
     private final Map<String, GameStateDTO.PlayerStats> playerStats = new ConcurrentHashMap<>();
     private final Map<String, String> playerNames = new ConcurrentHashMap<>();
     private final Map<String, GameSession> playerSessions = new ConcurrentHashMap<>(); // Track active sessions
+    private final Map<String, String> playerConnections = new ConcurrentHashMap<>(); // playerId -> WebSocket session id
+    private final Map<String, Long> respawnsDue = new ConcurrentHashMap<>(); // playerId -> respawn time
+    private final Map<String, InputSlot> inputSlots = new ConcurrentHashMap<>(); // WebSocket session id -> input
+    private final InputSlot drainedInput = new InputSlot(null); // Game loop's copy of the slot being applied
+    private final AtomicLong inputsRejected = new AtomicLong();
+
+    // A player whose connection drops keeps tank, stats, score and game session for
+    // resumeGraceMillis; a new connection presenting the player's resume token takes them over
+    private final long resumeGraceMillis;
+    private final Map<String, String> resumeTokens = new ConcurrentHashMap<>(); // token -> playerId
+    private final Map<String, String> playerResumeTokens = new ConcurrentHashMap<>(); // playerId -> token
+    private final Map<String, Long> detachedUntil = new ConcurrentHashMap<>(); // playerId -> end of grace
+    // Detaching, resuming and leaving happen on inbound, event and game loop threads; each one
+    // checks and changes a player's connection, grace period and tank as one step under this lock
+    private final Object attachmentLock = new Object();
+    private final AtomicLong resumed = new AtomicLong();
+    private final AtomicLong resumesRejected = new AtomicLong();
+    private final AtomicLong resumeGraceExpired = new AtomicLong();
 
     // Game constants
     public static final int GAME_WIDTH = 800;
     public static final int GAME_HEIGHT = 600;
     public static final int WALL_SIZE = 40;
 
+    public static final long RESPAWN_DELAY_MS = 3000;
+
+    public static final String ROSTER_DESTINATION = "/topic/roster";
+    public static final String EVENTS_DESTINATION = "/topic/events";
+    public static final String SESSION_DESTINATION = "/queue/session";
+
     // Spawn points for new players
     private final double[][] spawnPoints = {
         {100, 100}, {700, 100}, {100, 500}, {700, 500},
@@ -64,14 +116,26 @@ public class GameService {
     };
 
     private final long gameStartTime = System.currentTimeMillis();
-
-    public void handlePlayerAction(PlayerActionDTO action) {
+    private volatile long tick; // Game loop iterations so far; clients replay bullet flight against it
+
+    // State changes between ticks only set this; the next tick sends one snapshot for all of them.
+    // Unchanged state is still re-sent every keyframeInterval ticks, for sessions that skipped a
+    // frame while busy.
+    private volatile boolean stateDirty = true;
+    private final int keyframeInterval;
+    private final GameStateSnapshotWriter gameStateWriter;
+    private final GameStateV2SnapshotWriter gameStateV2Writer;
+
+    // userId and username identify a logged-in player (resolved on STOMP CONNECT); both are
+    // null for anonymous connections. sessionId is the WebSocket session the action came from.
+    public void handlePlayerAction(PlayerActionDTO action, String sessionId, Long userId, String username) {
         String actionType = action.getType();
         String playerId = action.getPlayerId();
         PlayerActionDTO.ActionData data = action.getData();
+        touch(playerId);
         switch (actionType) {
             case "PLAYER_JOIN" ->
-                handlePlayerJoin(playerId, data);
+                handlePlayerJoin(playerId, data, sessionId, userId, username);
             case "PLAYER_MOVE" ->
                 handlePlayerMove(playerId, data);
             case "PLAYER_SHOOT" ->
@@ -87,10 +151,15 @@ public class GameService {
         }
     }
 
-    private void handlePlayerJoin(String playerId, PlayerActionDTO.ActionData data) {
+    private void handlePlayerJoin(String playerId, PlayerActionDTO.ActionData data, String sessionId, Long userId,
+            String username) {
         if (activeTanks.containsKey(playerId)) {
             return; // Player already in game
         }
+        if (sessionId != null) {
+            playerConnections.put(playerId, sessionId);
+            inputSlots.put(sessionId, new InputSlot(playerId));
+        }
 
         // Find available spawn point
         double[] spawnPoint = findAvailableSpawnPoint();
@@ -99,28 +168,33 @@ public class GameService {
         Tank tank = new Tank(playerId, spawnPoint[0], spawnPoint[1], generatePlayerColor());
         activeTanks.put(playerId, tank);
 
-        // Initialize player stats
-        String playerName = (data != null && data.getPlayerName() != null)
+        // Initialize player stats (logged-in players always play under their account name)
+        String playerName = username != null ? username
+                : (data != null && data.getPlayerName() != null)
                 ? data.getPlayerName()
                 : "Player" + playerId.substring(Math.max(0, playerId.length() - 6));
         playerNames.put(playerId, playerName);
-        playerScores.put(playerId, 0);
         playerStats.put(playerId, new GameStateDTO.PlayerStats(
                 playerNames.get(playerId), 0, 0, Tank.MAX_HEALTH, Tank.MAX_AMMUNITION, true
         ));
+        resetScore(playerId);
 
         // Create game session for registered users
-        createGameSession(playerId, playerName);
+        createGameSession(playerId, playerName, userId);
 
-        broadcastGameState();
+        if (sessionId != null) {
+            sendToSession(sessionId, new PlayerSessionDTO(PlayerSessionDTO.JOINED, playerId,
+                    issueResumeToken(playerId), resumeGraceMillis));
+        }
+
+        publishRoster();
+        stateDirty = true;
     }
 
-    private void createGameSession(String playerId, String playerName) {
+    private void createGameSession(String playerId, String playerName, Long userId) {
         try {
-            // Try to find user by username (if logged in)
-            User user = userService.findByUsername(playerName);
-            if (user != null) {
-                GameSession session = gameSessionService.createSession(user);
+            if (userId != null) {
+                GameSession session = gameSessionService.createSession(userId);
                 playerSessions.put(playerId, session);
                 LOGGER.info(() -> "Created game session for user: " + playerName);
             } else {
@@ -132,22 +206,20 @@ public class GameService {
     }
 
     private void handlePlayerMove(String playerId, PlayerActionDTO.ActionData data) {
-        Tank tank = activeTanks.get(playerId);
-        if (tank == null || !tank.isAlive()) {
+        // Validate movement data
+        if (data == null || data.getDirection() == null) {
             return;
         }
+        applyMove(playerId, data.getX(), data.getY(), data.getDirection(), data.isMoving(), data.getAngle());
+    }
 
-        // Validate movement data
-        if (data.getDirection() == null) {
+    private void applyMove(String playerId, double newX, double newY, Direction direction, boolean isMoving,
+            double angle) {
+        Tank tank = activeTanks.get(playerId);
+        if (tank == null || !tank.isAlive()) {
             return;
         }
 
-        double newX = data.getX();
-        double newY = data.getY();
-        Direction direction = data.getDirection();
-        boolean isMoving = data.isMoving();
-        double angle = data.getAngle(); // Get angle from client
-
         // Server-side boundary validation
         double halfSize = Tank.TANK_SIZE / 2.0;
         newX = Math.max(halfSize, Math.min(GAME_WIDTH - halfSize, newX));
@@ -179,6 +251,7 @@ public class GameService {
             // Stop tank if collision detected
             tank.setMoving(false);
         }
+        stateDirty = true;
     }
 
     private void handlePlayerShoot(String playerId) {
@@ -189,6 +262,7 @@ public class GameService {
 
         Bullet bullet = tank.shoot();
         if (bullet != null) {
+            bulletEventPublisher.spawned(bullet, tick);
             activeBullets.add(bullet);
 
             // Update player stats
@@ -199,17 +273,15 @@ public class GameService {
 
             // Update session statistics
             updateSessionShot(playerId);
+            stateDirty = true;
         }
     }
 
+    // Session updates only hand a snapshot to the write buffer, they never wait on the database
     private void updateSessionShot(String playerId) {
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
-            try {
-                gameSessionService.recordShot(session);
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error updating shot stats for player " + playerId + ": " + e.getMessage());
-            }
+            gameSessionService.recordShot(session);
         }
     }
 
@@ -217,6 +289,7 @@ public class GameService {
         Tank tank = activeTanks.get(playerId);
         if (tank != null) {
             tank.stop();
+            stateDirty = true;
         }
     }
 
@@ -232,15 +305,202 @@ public class GameService {
             if (stats != null) {
                 stats.setAmmunition(tank.getAmmunition());
             }
-            broadcastGameState();
+            stateDirty = true;
+        }
+    }
+
+    // Compact input frames (see InputFrameParser) are parsed on the inbound thread into the
+    // connection's slot and applied by the next tick; the connection identifies the player
+    public void handleInput(String sessionId, byte[] frame) {
+        InputSlot slot = sessionId != null ? inputSlots.get(sessionId) : null;
+        if (slot != null) {
+            slot.touch();
+        }
+        if (slot == null || !InputFrameParser.parse(frame, slot)) {
+            inputsRejected.incrementAndGet();
+        }
+    }
+
+    private void touch(String playerId) {
+        String sessionId = playerId != null ? playerConnections.get(playerId) : null;
+        InputSlot slot = sessionId != null ? inputSlots.get(sessionId) : null;
+        if (slot != null) {
+            slot.touch();
+        }
+    }
+
+    // The connection closed. The player who joined from it stays in the game, stopped, for the
+    // resume grace period and leaves when it ends; with no grace period they leave right away,
+    // as if the connection had sent /game/leave. Returns that player, or null if the connection
+    // never joined, already left or was taken over by a resume.
+    public String handleDisconnect(String sessionId) {
+        synchronized (attachmentLock) {
+            InputSlot slot = inputSlots.get(sessionId);
+            if (slot == null) {
+                return null;
+            }
+            String playerId = slot.getPlayerId();
+            if (resumeGraceMillis <= 0) {
+                handlePlayerLeave(playerId);
+                return playerId;
+            }
+            inputSlots.remove(sessionId);
+            playerConnections.remove(playerId, sessionId);
+            detachedUntil.put(playerId, System.currentTimeMillis() + resumeGraceMillis);
+            handlePlayerStop(playerId);
+            LOGGER.info(() -> "Player " + playerId + " detached, resumable for " + resumeGraceMillis + " ms");
+            return playerId;
+        }
+    }
+
+    // Reattaches the player holding resumeToken to this connection: same tank, stats, score and
+    // game session, so nothing is inserted and no join is broadcast. The token is replaced by a
+    // new one. A connection the player is still attached to (one whose drop the server has not
+    // noticed yet) is closed. The resumed client gets the roster and bullets from its
+    // subscriptions, its HUD and a world snapshot on the next tick. A grace period that has
+    // ended counts as expired even if the game loop has not removed the player yet.
+    public void resumePlayer(String resumeToken, String sessionId, Long userId) {
+        String previousSessionId;
+        String playerId;
+        String newToken;
+        synchronized (attachmentLock) {
+            playerId = resumeToken != null ? resumeTokens.get(resumeToken) : null;
+            Long graceEnd = playerId != null ? detachedUntil.get(playerId) : null;
+            if (playerId == null || !activeTanks.containsKey(playerId)
+                    || (graceEnd != null && graceEnd <= System.currentTimeMillis())
+                    || !Objects.equals(userId, ownerOf(playerId))) {
+                resumesRejected.incrementAndGet();
+                sendToSession(sessionId, new PlayerSessionDTO(PlayerSessionDTO.RESUME_REJECTED, null, null,
+                        resumeGraceMillis));
+                return;
+            }
+            detachedUntil.remove(playerId);
+            previousSessionId = playerConnections.put(playerId, sessionId);
+            if (previousSessionId != null && !previousSessionId.equals(sessionId)) {
+                inputSlots.remove(previousSessionId);
+            }
+            inputSlots.put(sessionId, new InputSlot(playerId));
+            hudPublisher.remove(playerId);
+            newToken = issueResumeToken(playerId);
+            resumed.incrementAndGet();
+        }
+        if (previousSessionId != null && !previousSessionId.equals(sessionId)) {
+            gameStateBroadcaster.closeSession(previousSessionId, RESUMED_ELSEWHERE);
+        }
+        sendToSession(sessionId, new PlayerSessionDTO(PlayerSessionDTO.RESUMED, playerId, newToken,
+                resumeGraceMillis));
+        stateDirty = true;
+        String resumedPlayerId = playerId;
+        LOGGER.info(() -> "Player " + resumedPlayerId + " resumed");
+    }
+
+    // Account that joined as this player, null for anonymous players
+    private Long ownerOf(String playerId) {
+        GameSession session = playerSessions.get(playerId);
+        return session != null && session.getUser() != null ? session.getUser().getId() : null;
+    }
+
+    private String issueResumeToken(String playerId) {
+        byte[] bytes = new byte[18];
+        TOKEN_RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        resumeTokens.put(token, playerId);
+        String previous = playerResumeTokens.put(playerId, token);
+        if (previous != null) {
+            resumeTokens.remove(previous);
+        }
+        return token;
+    }
+
+    // Addressed by session id, like the HUD, so anonymous players are reached too
+    private void sendToSession(String sessionId, Object payload) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, SESSION_DESTINATION, payload, headers.getMessageHeaders());
+    }
+
+    // Players whose connection sent nothing since idleSince leave the game. Returns the
+    // WebSocket session ids they joined from.
+    public List<String> evictIdlePlayers(long idleSince) {
+        List<String> evicted = new ArrayList<>();
+        for (Map.Entry<String, InputSlot> entry : inputSlots.entrySet()) {
+            InputSlot slot = entry.getValue();
+            if (slot.getLastActivity() < idleSince) {
+                LOGGER.info(() -> "Evicting idle player " + slot.getPlayerId());
+                handlePlayerLeave(slot.getPlayerId());
+                evicted.add(entry.getKey());
+            }
+        }
+        return evicted;
+    }
+
+    public int getDetachedCount() {
+        return detachedUntil.size();
+    }
+
+    public long getResumedCount() {
+        return resumed.get();
+    }
+
+    public long getResumesRejected() {
+        return resumesRejected.get();
+    }
+
+    public long getResumeGraceExpired() {
+        return resumeGraceExpired.get();
+    }
+
+    public long getInputsRejected() {
+        return inputsRejected.get();
+    }
+
+    private void drainInputs() {
+        for (InputSlot slot : inputSlots.values()) {
+            if (!slot.transferTo(drainedInput)) {
+                continue;
+            }
+            String playerId = slot.getPlayerId();
+            if (drainedInput.isMovePending()) {
+                applyMove(playerId, drainedInput.getX(), drainedInput.getY(), DIRECTIONS[drainedInput.getDirection()],
+                        drainedInput.isMoving(), drainedInput.getAngle());
+            }
+            if (drainedInput.isStopPending()) {
+                handlePlayerStop(playerId);
+            }
+            if (drainedInput.isFirePending()) {
+                handlePlayerShoot(playerId);
+            }
+            if (drainedInput.isReloadPending()) {
+                handlePlayerReload(playerId);
+            }
         }
     }
 
     @Scheduled(fixedRate = 16) // ~60 FPS
     public void gameLoop() {
+        drainInputs(); // Before the tick advances: shots fired here belong to the previous tick, like any other
+        tick++;
+        processRespawns();
+        processDetached();
         updateBullets();
         checkCollisions();
+        bulletEventPublisher.publish(tick);
         broadcastGameState();
+        publishHuds();
+        liveScoreboard.publish(playerNames, playerStats);
+    }
+
+    // Private per-player state leaves the world snapshot; each player gets theirs when it changes
+    private void publishHuds() {
+        for (Tank tank : activeTanks.values()) {
+            String playerId = tank.getPlayerId();
+            GameStateDTO.PlayerStats stats = playerStats.get(playerId);
+            Integer score = playerScores.get(playerId);
+            hudPublisher.publish(playerId, playerConnections.get(playerId), tank.getHealth(), tank.getAmmunition(),
+                    score != null ? score : 0, stats != null ? stats.getKills() : 0,
+                    stats != null ? stats.getDeaths() : 0, tank.isAlive());
+        }
     }
 
     private void updateBullets() {
@@ -251,6 +511,7 @@ public class GameService {
 
             if (!bullet.isActive() || isOutOfBounds(bullet.getX(), bullet.getY())) {
                 bulletIterator.remove();
+                bulletEventPublisher.destroyed(bullet);
             }
         }
     }
@@ -275,6 +536,7 @@ public class GameService {
             if (bullet.intersects(tank) && tank.isAlive()) {
                 handleBulletHit(bullet, tank);
                 bullet.destroy();
+                bulletEventPublisher.hit(bullet, tank);
                 return true;
             }
         }
@@ -283,6 +545,7 @@ public class GameService {
         if (bullet.getX() <= 0 || bullet.getX() >= GAME_WIDTH
                 || bullet.getY() <= 0 || bullet.getY() >= GAME_HEIGHT) {
             bullet.destroy();
+            bulletEventPublisher.destroyed(bullet);
             return true;
         }
         return false;
@@ -290,6 +553,7 @@ public class GameService {
 
     private void handleBulletHit(Bullet bullet, Tank tank) {
         tank.takeDamage(bullet.getDamage());
+        stateDirty = true;
 
         GameStateDTO.PlayerStats targetStats = playerStats.get(tank.getPlayerId());
         if (targetStats != null) {
@@ -299,6 +563,7 @@ public class GameService {
                 // Handle tank death
                 targetStats.setAlive(false);
                 targetStats.setDeaths(targetStats.getDeaths() + 1);
+                liveScoreboard.markDirty();
 
                 // Record death in session
                 updateSessionDeath(tank.getPlayerId());                // Handle killer stats
@@ -320,8 +585,9 @@ public class GameService {
                     final int totalScore = baseScore + bonusScore;
 
                     // Update shooter's score
-                    int currentScore = playerScores.getOrDefault(bullet.getOwnerId(), 0);
-                    playerScores.put(bullet.getOwnerId(), currentScore + totalScore);                    // Record kill and hit in session
+                    addScore(bullet.getOwnerId(), totalScore);
+
+                    // Record kill and hit in session
                     updateSessionKill(bullet.getOwnerId(), totalScore);
 
                     // Check for achievements
@@ -331,13 +597,15 @@ public class GameService {
                             bullet.getOwnerId(), tank.getPlayerId(), totalScore));
                 }
 
-                respawnTank(tank);
+                Tank killer = activeTanks.get(bullet.getOwnerId());
+                messagingTemplate.convertAndSend(EVENTS_DESTINATION, new DeathEventDTO(tank.getNumber(),
+                        killer != null ? killer.getNumber() : null, RESPAWN_DELAY_MS));
+                respawnsDue.put(tank.getPlayerId(), System.currentTimeMillis() + RESPAWN_DELAY_MS);
             } else {
                 // Just a hit, not a kill - give smaller score reward
                 if (!bullet.getOwnerId().equals(tank.getPlayerId())) {
                     int hitScore = 10; // Hit score
-                    int currentScore = playerScores.getOrDefault(bullet.getOwnerId(), 0);
-                    playerScores.put(bullet.getOwnerId(), currentScore + hitScore);
+                    addScore(bullet.getOwnerId(), hitScore);
 
                     updateSessionHit(bullet.getOwnerId());
 
@@ -351,88 +619,114 @@ public class GameService {
     private void updateSessionDeath(String playerId) {
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
-            try {
-                gameSessionService.recordDeath(session);
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error updating death stats for player " + playerId + ": " + e.getMessage());
-            }
+            gameSessionService.recordDeath(session);
         }
     }
 
     private void updateSessionKill(String playerId, int scoreGain) {
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
-            try {
-                gameSessionService.recordKill(session, scoreGain);
-                gameSessionService.recordHit(session); // Kill counts as hit too
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error updating kill stats for player " + playerId + ": " + e.getMessage());
-            }
+            gameSessionService.recordKill(session, scoreGain);
+            gameSessionService.recordHit(session); // Kill counts as hit too
         }
     }
 
     private void updateSessionHit(String playerId) {
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
-            try {
-                gameSessionService.recordHit(session);
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error updating hit stats for player " + playerId + ": " + e.getMessage());
+            gameSessionService.recordHit(session);
+        }
+    }
+
+    // Respawns happen on the game loop once their delay has passed, instead of on a timer thread
+    private void processRespawns() {
+        if (respawnsDue.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> due : respawnsDue.entrySet()) {
+            if (due.getValue() > now) {
+                continue;
+            }
+            respawnsDue.remove(due.getKey());
+            Tank tank = activeTanks.get(due.getKey());
+            if (tank == null) {
+                continue; // Left while dead
             }
+            // Find a new spawn point and reset position, health, ammunition and alive state
+            double[] spawnPoint = findAvailableSpawnPoint();
+            tank.respawn(spawnPoint[0], spawnPoint[1]);
+
+            // Update player stats
+            GameStateDTO.PlayerStats stats = playerStats.get(tank.getPlayerId());
+            if (stats != null) {
+                stats.setAlive(true);
+                stats.setHealth(tank.getHealth());
+                stats.setAmmunition(tank.getAmmunition());
+            }
+            liveScoreboard.markDirty();
+            stateDirty = true;
         }
     }
 
-    private void respawnTank(Tank tank) {
-        // Wait a bit before respawning
-        Timer timer = new Timer();
-        timer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                // Find a new spawn point
-                double[] spawnPoint = findAvailableSpawnPoint();
-
-                // Reset tank position and status
-                tank.setX(spawnPoint[0]);
-                tank.setY(spawnPoint[1]);
-                tank.setHealth(Tank.MAX_HEALTH);
-                tank.setAmmunition(Tank.MAX_AMMUNITION);
-
-                // Update player stats
-                GameStateDTO.PlayerStats stats = playerStats.get(tank.getPlayerId());
-                if (stats != null) {
-                    stats.setAlive(true);
-                    stats.setHealth(tank.getHealth());
-                    stats.setAmmunition(tank.getAmmunition());
+    // Detached players whose grace period ended leave the game
+    private void processDetached() {
+        if (detachedUntil.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> detached : detachedUntil.entrySet()) {
+            if (detached.getValue() > now) {
+                continue;
+            }
+            synchronized (attachmentLock) {
+                // A resume may have taken the player back, or a new drop restarted the grace period
+                if (detachedUntil.remove(detached.getKey(), detached.getValue())) {
+                    resumeGraceExpired.incrementAndGet();
+                    LOGGER.info(() -> "Player " + detached.getKey() + " did not resume in time");
+                    handlePlayerLeave(detached.getKey());
                 }
-
-                broadcastGameState();
             }
-        }, 3000);  // 3 seconds respawn delay
+        }
     }
 
     private void handlePlayerLeave(String playerId) {
+        synchronized (attachmentLock) {
+            removePlayer(playerId);
+        }
+    }
+
+    private void removePlayer(String playerId) {
         // End game session before removing player
         endGameSession(playerId);
 
         activeTanks.remove(playerId);
         playerStats.remove(playerId);
-        playerScores.remove(playerId);
+        removeScore(playerId);
         playerNames.remove(playerId);
         playerSessions.remove(playerId);
+        String sessionId = playerConnections.remove(playerId);
+        if (sessionId != null) {
+            inputSlots.remove(sessionId);
+        }
+        respawnsDue.remove(playerId);
+        detachedUntil.remove(playerId);
+        String resumeToken = playerResumeTokens.remove(playerId);
+        if (resumeToken != null) {
+            resumeTokens.remove(resumeToken);
+        }
+        hudPublisher.remove(playerId);
 
-        broadcastGameState();
+        publishRoster();
+        stateDirty = true;
     }
 
     private void endGameSession(String playerId) {
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
-            try {
-                Integer finalScore = playerScores.get(playerId);
-                gameSessionService.endSession(session, finalScore != null ? finalScore : 0);
-                LOGGER.info(() -> "Ended game session for player: " + playerId);
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error ending game session for player " + playerId + ": " + e.getMessage());
-            }
+            Integer finalScore = playerScores.get(playerId);
+            gameSessionService.endSession(session, finalScore != null ? finalScore : 0);
+            LOGGER.info(() -> "Ended game session for player: " + playerId);
         }
     }// Scheduled method to save periodic updates
 
@@ -442,13 +736,9 @@ public class GameService {
             String playerId = entry.getKey();
             GameSession session = entry.getValue();
 
-            try {
-                Integer currentScore = playerScores.get(playerId);
-                if (currentScore != null) {
-                    gameSessionService.updateSessionScore(session, currentScore);
-                }
-            } catch (Exception e) {
-                LOGGER.warning(() -> "Error updating periodic session data for player " + playerId + ": " + e.getMessage());
+            Integer currentScore = playerScores.get(playerId);
+            if (currentScore != null) {
+                gameSessionService.updateSessionScore(session, currentScore);
             }
         }
     }
@@ -484,20 +774,35 @@ public class GameService {
         return colors[activeTanks.size() % colors.length];
     }
 
+    // Called once per tick only. Streamed from the live maps, encoded once per schema version and
+    // written to every subscriber.
     private void broadcastGameState() {
-        GameStateDTO.GameInfo gameInfo = new GameStateDTO.GameInfo(
-                activeTanks.size(), gameStartTime, "ACTIVE"
-        );
+        boolean keyframe = tick % keyframeInterval == 0;
+        boolean changed = stateDirty;
+        if (changed) {
+            stateDirty = false; // Cleared before writing, so a change made meanwhile is sent now or next tick
+        }
+        if (changed || keyframe) {
+            gameStateBroadcaster.broadcast(GameStateBroadcaster.DESTINATION_V2, gameStateV2Writer);
+        }
+        // The original schema also carries bullet positions and the game duration
+        if (changed || keyframe || !activeBullets.isEmpty()) {
+            gameStateBroadcaster.broadcast(GameStateBroadcaster.DESTINATION, gameStateWriter);
+        }
+    }
 
-        GameStateDTO gameState = new GameStateDTO(
-                new ArrayList<>(activeTanks.values()),
-                new ArrayList<>(activeBullets),
-                new HashMap<>(playerScores),
-                new HashMap<>(playerStats),
-                gameInfo
-        );
+    // Static player data for v2 clients: sent whole on join and leave, which are rare
+    private void publishRoster() {
+        messagingTemplate.convertAndSend(ROSTER_DESTINATION, getRoster());
+    }
 
-        messagingTemplate.convertAndSend("/topic/gamestate", gameState);
+    public List<RosterEntryDTO> getRoster() {
+        List<RosterEntryDTO> roster = new ArrayList<>(activeTanks.size());
+        for (Tank tank : activeTanks.values()) {
+            roster.add(new RosterEntryDTO(tank.getNumber(), tank.getPlayerId(),
+                    playerNames.get(tank.getPlayerId()), tank.getColor()));
+        }
+        return roster;
     }
 
     public Map<String, Tank> getActiveTanks() {
@@ -508,6 +813,10 @@ public class GameService {
         return new ArrayList<>(activeBullets);
     }
 
+    public BulletEventsDTO getBulletKeyframe() {
+        return bulletEventPublisher.keyframe(activeBullets, tick);
+    }
+
     public Map<String, Integer> getPlayerScores() {
         return new HashMap<>(playerScores);
     }
@@ -563,13 +872,12 @@ public class GameService {
     }
 
     private void addBonusScore(String playerId, int bonus, String achievement) {
-        int currentScore = playerScores.getOrDefault(playerId, 0);
-        playerScores.put(playerId, currentScore + bonus);
+        int newScore = addScore(playerId, bonus);
 
         GameSession session = playerSessions.get(playerId);
         if (session != null) {
             session.addScore(bonus);
-            gameSessionService.updateSessionScore(session, currentScore + bonus);
+            gameSessionService.updateSessionScore(session, newScore);
         }
 
         // Send achievement notification via WebSocket
@@ -599,28 +907,6 @@ public class GameService {
         }
     }
 
-    // Enhanced game state tracking
-    public void updateGameStatistics() {
-        try {
-            for (Map.Entry<String, GameSession> entry : playerSessions.entrySet()) {
-                String playerId = entry.getKey();
-                GameSession session = entry.getValue();
-
-                if (session != null && session.getUser() != null) {
-                    // Update real-time statistics in database
-                    statisticsService.updateRealTimeStats(
-                            session.getUser().getId(),
-                            playerScores.getOrDefault(playerId, 0),
-                            session.getKillsInSession(),
-                            session.getDeathsInSession()
-                    );
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.warning(() -> "Error updating game statistics: " + e.getMessage());
-        }
-    }
-
     // Survival bonus - players get points for staying alive
     @Scheduled(fixedRate = 60000) // Every minute
     public void giveSurvivalBonus() {
@@ -630,8 +916,7 @@ public class GameService {
 
             if (tank.isAlive()) {
                 int survivalBonus = 5; // 5 points per minute survived
-                int currentScore = playerScores.getOrDefault(playerId, 0);
-                playerScores.put(playerId, currentScore + survivalBonus);
+                addScore(playerId, survivalBonus);
 
                 GameSession session = playerSessions.get(playerId);
                 if (session != null) {
@@ -643,37 +928,36 @@ public class GameService {
 
     // Method to determine game winner based on various criteria
     public String determineGameWinner() {
-        if (playerScores.isEmpty()) {
-            return null;
-        }
-
-        return playerScores.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(entry -> playerNames.get(entry.getKey()))
-                .orElse(null);
-    }
-
-    // Get top players for real-time leaderboard
-    public List<Map<String, Object>> getTopPlayers(int limit) {
-        return playerScores.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(limit)
-                .map(entry -> {
-                    String playerId = entry.getKey();
-                    Map<String, Object> playerInfo = new HashMap<>();
-                    playerInfo.put("playerId", playerId);
-                    playerInfo.put("playerName", playerNames.get(playerId));
-                    playerInfo.put("score", entry.getValue());
-
-                    GameStateDTO.PlayerStats stats = playerStats.get(playerId);
-                    if (stats != null) {
-                        playerInfo.put("kills", stats.getKills());
-                        playerInfo.put("deaths", stats.getDeaths());
-                        playerInfo.put("alive", stats.isAlive());
-                    }
+        ScoreboardEntryDTO leader = liveScoreboard.getLeader();
+        return leader != null ? leader.getPlayerName() : null;
+    }
+
+    // Get top players for real-time leaderboard (served from the snapshot published by the game loop)
+    public List<ScoreboardEntryDTO> getTopPlayers(int limit) {
+        return liveScoreboard.getTopPlayers(limit);
+    }
 
-                    return playerInfo;
-                })
-                .toList();
+    public LiveScoreboard.Snapshot getScoreboard() {
+        return liveScoreboard.getSnapshot();
+    }
+
+    // Score changes go through here so the map and the live scoreboard stay in step
+    private synchronized int addScore(String playerId, int points) {
+        Integer newScore = playerScores.computeIfPresent(playerId, (id, score) -> score + points);
+        if (newScore == null) {
+            return 0; // Player already left
+        }
+        liveScoreboard.updateScore(playerId, newScore);
+        return newScore;
+    }
+
+    private synchronized void resetScore(String playerId) {
+        playerScores.put(playerId, 0);
+        liveScoreboard.updateScore(playerId, 0);
+    }
+
+    private synchronized void removeScore(String playerId) {
+        playerScores.remove(playerId);
+        liveScoreboard.remove(playerId);
     }
 }
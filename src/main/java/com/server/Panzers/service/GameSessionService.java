@@ -1,58 +1,63 @@
 package com.server.Panzers.service;
 
-import java.time.LocalDateTime;
-
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.server.Panzers.model.GameSession;
-import com.server.Panzers.model.GameStatistics;
 import com.server.Panzers.model.User;
-import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.UserRepository;
 
+// Live sessions are kept in memory by the game and only their snapshots are persisted, through
+// the session write buffer: nothing here waits on the database, so a slow or unavailable
+// database can neither stall the game loop nor lose the kills, deaths and shots of a session.
 @Service
-@Transactional
 public class GameSessionService {
 
-    private final GameSessionRepository gameSessionRepository;
-    private final StatisticsService statisticsService;
+    private final UserRepository userRepository;
+    private final SessionWriteBuffer sessionWriteBuffer;
 
-    public GameSessionService(GameSessionRepository gameSessionRepository, StatisticsService statisticsService) {
-        this.gameSessionRepository = gameSessionRepository;
-        this.statisticsService = statisticsService;
+    public GameSessionService(UserRepository userRepository, SessionWriteBuffer sessionWriteBuffer) {
+        this.userRepository = userRepository;
+        this.sessionWriteBuffer = sessionWriteBuffer;
     }
 
     public GameSession createSession(User user) {
         GameSession session = new GameSession(user);
-        return gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
+        return session;
+    }
+
+    // For players identified on STOMP CONNECT: the user is referenced by id, not loaded
+    public GameSession createSession(Long userId) {
+        return createSession(userRepository.getReferenceById(userId));
     }
 
     public void recordKill(GameSession session, int scoreGain) {
         session.addKill();
         session.addScore(scoreGain);
-        gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
     }
 
     public void recordDeath(GameSession session) {
         session.addDeath();
-        gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
     }
 
     public void recordShot(GameSession session) {
         session.addShot();
-        gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
     }
 
     public void recordHit(GameSession session) {
         session.addHit();
-        gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
     }
 
     public void updateSessionScore(GameSession session, int newScore) {
         session.setFinalScore(newScore);
-        gameSessionRepository.save(session);
+        sessionWriteBuffer.submit(session);
     }
 
+    // The statistics of the ended session are applied when its final snapshot is written
     public GameSession endSession(GameSession session, int finalScore) {
         session.setFinalScore(finalScore);
 
@@ -60,13 +65,8 @@ public class GameSessionService {
         GameSession.GameResult result = determineGameResult(session);
         session.endSession(result);
 
-        // Save the completed session
-        GameSession savedSession = gameSessionRepository.save(session);
-
-        // Update user statistics
-        updateUserStatistics(session);
-
-        return savedSession;
+        sessionWriteBuffer.submit(session);
+        return session;
     }
 
     private GameSession.GameResult determineGameResult(GameSession session) {
@@ -125,45 +125,4 @@ public class GameSessionService {
             return GameSession.GameResult.DRAW;
         }
     }
-
-    private void updateUserStatistics(GameSession session) {
-        try {
-            User user = session.getUser();
-            GameStatistics stats = statisticsService.getOrCreateUserStatistics(user.getId());
-
-            if (stats == null) {
-                // Create new statistics for user
-                stats = new GameStatistics(user);
-            }
-
-            // Update statistics with session data
-            stats.addGame(session);
-            stats.setShotsFired(stats.getShotsFired() + session.getShotsFired());
-            stats.setShotsHit(stats.getShotsHit() + session.getShotsHit());
-
-            // Save updated statistics
-            statisticsService.saveStatistics(stats);
-
-        } catch (Exception e) {
-            System.err.println("Error updating user statistics: " + e.getMessage());
-            e.printStackTrace();
-        }
-    }
-
-    public void cleanupOldSessions() {
-        // Clean up sessions older than 24 hours that are still active
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
-
-        try {
-            var activeSessions = gameSessionRepository.findActiveSessions();
-            for (GameSession session : activeSessions) {
-                if (session.getSessionStart().isBefore(cutoff)) {
-                    session.endSession(GameSession.GameResult.DISCONNECT);
-                    gameSessionRepository.save(session);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error cleaning up old sessions: " + e.getMessage());
-        }
-    }
 }
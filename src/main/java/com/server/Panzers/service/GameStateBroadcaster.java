@@ -0,0 +1,330 @@
+package com.server.Panzers.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// Fan-out for the high-rate game state topics, bypassing the SimpleBroker: each topic's
+// snapshot is streamed once per tick by its SnapshotWriter through a reused generator into a
+// reused buffer, wrapped in a STOMP MESSAGE frame once, and the same TextMessage is written
+// to every subscribed WebSocket session. The only per-session part of a MESSAGE frame is the
+// subscription header, so clients that subscribe with the topic's shared id ("gamestate" or
+// "gamestate.v2"; game.js uses the latter) all receive the identical frame; other ids get one
+// frame per distinct id and tick.
+//
+// Subscribers are tracked per topic from SUBSCRIBE/UNSUBSCRIBE/DISCONNECT on the inbound
+// channel and kept in a precomputed set, so a broadcast never asks the broker registry for
+// matches, and a schema version nobody subscribed to is not even serialized.
+//
+// The writes themselves run on a small pool of send threads, so a client with a full TCP
+// buffer blocks one send thread, never the game loop. Sessions still busy sending the previous
+// frame skip this one: the next snapshot supersedes it anyway, and queueing stale state only
+// delays the fresh one.
+@Component
+public class GameStateBroadcaster implements ChannelInterceptor {
+
+    public static final String DESTINATION = "/topic/gamestate";
+    public static final String DESTINATION_V2 = "/topic/gamestate.v2";
+
+    private static final Logger LOGGER = Logger.getLogger(GameStateBroadcaster.class.getName());
+
+    private final JsonFactory jsonFactory;
+    private final int sendTimeLimit;
+    private final int bufferSizeLimit;
+    // Socket writes block; they run here, never on the game loop
+    private final ExecutorService sendExecutor;
+
+    // Every open WebSocket session, by id (the STOMP simpSessionId)
+    private final Map<String, ConcurrentWebSocketSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Topic> topics = Map.of(
+            DESTINATION, new Topic(DESTINATION),
+            DESTINATION_V2, new Topic(DESTINATION_V2));
+
+    // Reused on every broadcast (guarded by this)
+    private final ReusableBuffer body = new ReusableBuffer(16 * 1024);
+    private final ReusableBuffer frame = new ReusableBuffer(16 * 1024);
+    private final Map<String, TextMessage> framesBySubscription = new HashMap<>();
+    private JsonGenerator generator;
+    private long sequence;
+
+    // Metrics
+    private final AtomicLong framesSent = new AtomicLong();
+    private final AtomicLong framesSkipped = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    public GameStateBroadcaster(ObjectMapper objectMapper,
+            @Value("${tank.game.broadcast.send-time-limit:10000}") int sendTimeLimit,
+            @Value("${tank.game.broadcast.buffer-size-limit:524288}") int bufferSizeLimit,
+            @Value("${tank.game.broadcast.send-threads:4}") int sendThreads) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.sendTimeLimit = sendTimeLimit;
+        this.bufferSizeLimit = bufferSizeLimit;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.sendExecutor = Executors.newFixedThreadPool(Math.max(1, sendThreads), runnable -> {
+            Thread thread = new Thread(runnable, "gamestate-send-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sendExecutor.shutdownNow();
+    }
+
+    // Registered as a WebSocket handler decorator: every session is wrapped once here, so the
+    // broker's sends and ours go through the same send lock and buffer
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                ConcurrentWebSocketSessionDecorator concurrentSession
+                        = new ConcurrentWebSocketSessionDecorator(session, sendTimeLimit, bufferSizeLimit);
+                sessions.put(session.getId(), concurrentSession);
+                super.afterConnectionEstablished(concurrentSession);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                removeSubscriber(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null || accessor.getSessionId() == null) {
+            return message;
+        }
+        String sessionId = accessor.getSessionId();
+        switch (accessor.getCommand()) {
+            case SUBSCRIBE -> {
+                Topic topic = accessor.getDestination() != null ? topics.get(accessor.getDestination()) : null;
+                ConcurrentWebSocketSessionDecorator session = sessions.get(sessionId);
+                if (topic != null && session != null && accessor.getSubscriptionId() != null) {
+                    topic.subscribers.put(sessionId, new Subscriber(session, accessor.getSubscriptionId()));
+                }
+            }
+            case UNSUBSCRIBE -> {
+                for (Topic topic : topics.values()) {
+                    Subscriber subscriber = topic.subscribers.get(sessionId);
+                    if (subscriber != null && subscriber.subscriptionId.equals(accessor.getSubscriptionId())) {
+                        topic.subscribers.remove(sessionId, subscriber);
+                    }
+                }
+            }
+            case DISCONNECT -> removeSubscriber(sessionId);
+            default -> {
+            }
+        }
+        return message;
+    }
+
+    private void removeSubscriber(String sessionId) {
+        for (Topic topic : topics.values()) {
+            topic.subscribers.remove(sessionId);
+        }
+    }
+
+    public synchronized void broadcast(String destination, SnapshotWriter snapshot) {
+        Topic topic = topics.get(destination);
+        if (topic == null) {
+            throw new IllegalArgumentException("Not a broadcast topic: " + destination);
+        }
+        if (topic.subscribers.isEmpty()) {
+            return;
+        }
+        body.reset();
+        try {
+            JsonGenerator json = generator();
+            snapshot.write(json);
+            json.flush();
+        } catch (IOException | RuntimeException e) {
+            // A half-written value leaves the generator mid-object; start over with a fresh one
+            generator = null;
+            LOGGER.warning(() -> "Could not serialize game state: " + e.getMessage());
+            return;
+        }
+        sequence++;
+        framesBySubscription.clear();
+
+        for (Subscriber subscriber : topic.subscribers.values()) {
+            ConcurrentWebSocketSessionDecorator session = subscriber.session;
+            if (session.getBufferSize() > 0 || !session.isOpen() || !subscriber.sending.compareAndSet(false, true)) {
+                framesSkipped.incrementAndGet();
+                continue;
+            }
+            TextMessage message = framesBySubscription.get(subscriber.subscriptionId);
+            if (message == null) {
+                message = buildFrame(topic, subscriber.subscriptionId);
+                framesBySubscription.put(subscriber.subscriptionId, message);
+            }
+            TextMessage frameToSend = message;
+            try {
+                sendExecutor.execute(() -> send(subscriber, frameToSend));
+            } catch (RejectedExecutionException e) {
+                subscriber.sending.set(false); // Shutting down
+                framesSkipped.incrementAndGet();
+            }
+        }
+    }
+
+    // On a send thread. At most one broadcast send per subscriber is in flight, so frames of
+    // one topic reach a session in order.
+    private void send(Subscriber subscriber, TextMessage message) {
+        ConcurrentWebSocketSessionDecorator session = subscriber.session;
+        try {
+            session.sendMessage(message);
+            framesSent.incrementAndGet();
+            bytesSent.addAndGet(message.getPayloadLength());
+        } catch (Exception e) {
+            // Send timeouts and buffer overflows close the session; it is dropped on close
+            LOGGER.fine(() -> "Could not send game state to session " + session.getId() + ": " + e.getMessage());
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+
+    // One generator for the life of the broadcaster, writing one root value per tick into the
+    // body buffer; no separator between root values since the buffer is reset in between
+    private JsonGenerator generator() throws IOException {
+        if (generator == null) {
+            generator = jsonFactory.createGenerator(body);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER.mappedFeature());
+            generator.setRootValueSeparator(null);
+        }
+        return generator;
+    }
+
+    // One immutable frame per subscription id: it may still sit in a session's send buffer
+    // when the next tick reuses the body buffer
+    private TextMessage buildFrame(Topic topic, String subscriptionId) {
+        frame.reset();
+        frame.writeBytes(topic.frameStart);
+        frame.writeBytes(escapeHeader(subscriptionId).getBytes(StandardCharsets.UTF_8));
+        frame.writeBytes(("\nmessage-id:gs-" + sequence + "\ncontent-length:" + body.size() + "\n\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        body.writeTo(frame);
+        frame.write(0);
+        return new TextMessage(frame.toByteArray());
+    }
+
+    // STOMP 1.2 header value escaping
+    private static String escapeHeader(String value) {
+        if (value.indexOf('\\') < 0 && value.indexOf(':') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return value.replace("\\", "\\\\").replace(":", "\\c").replace("\n", "\\n").replace("\r", "\\r");
+    }
+
+    // Closes a connection from the server side, e.g. for a client flooding the inbound channel
+    public void closeSession(String sessionId, CloseStatus status) {
+        WebSocketSession session = sessions.get(sessionId);
+        if (session == null) {
+            return;
+        }
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            LOGGER.fine(() -> "Could not close session " + sessionId + ": " + e.getMessage());
+        }
+    }
+
+    public int getSubscriberCount() {
+        int count = 0;
+        for (Topic topic : topics.values()) {
+            count += topic.subscribers.size();
+        }
+        return count;
+    }
+
+    public long getFramesSent() {
+        return framesSent.get();
+    }
+
+    public long getFramesSkipped() {
+        return framesSkipped.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    // Writes one snapshot as a single JSON value
+    @FunctionalInterface
+    public interface SnapshotWriter {
+
+        void write(JsonGenerator generator) throws IOException;
+    }
+
+    private static final class Topic {
+
+        private final byte[] frameStart;
+        // Sessions subscribed to this topic: session id -> subscriber
+        private final Map<String, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+        private Topic(String destination) {
+            this.frameStart = ("MESSAGE\ndestination:" + destination
+                    + "\ncontent-type:application/json\nsubscription:").getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final ConcurrentWebSocketSessionDecorator session;
+        private final String subscriptionId;
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private Subscriber(ConcurrentWebSocketSessionDecorator session, String subscriptionId) {
+            this.session = session;
+            this.subscriptionId = subscriptionId;
+        }
+    }
+
+    // ByteArrayOutputStream whose writeTo does not throw, for copying the body into the frame
+    private static final class ReusableBuffer extends ByteArrayOutputStream {
+
+        private ReusableBuffer(int size) {
+            super(size);
+        }
+
+        private void writeTo(ByteArrayOutputStream target) {
+            target.write(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.server.Panzers.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.server.Panzers.dto.GameStateDTO;
+import com.server.Panzers.model.game.Bullet;
+import com.server.Panzers.model.game.Tank;
+
+// Streams the live world state straight into the broadcaster's generator, in the same shape
+// Jackson produced for GameStateDTO, without copying tanks, bullets or stats into a DTO graph
+// first. Field names are pre-encoded once; runs on the game loop thread only.
+final class GameStateSnapshotWriter implements GameStateBroadcaster.SnapshotWriter {
+
+    private static final SerializableString TYPE = name("type");
+    private static final SerializableString GAME_STATE_UPDATE = name("GAME_STATE_UPDATE");
+    private static final SerializableString TIMESTAMP = name("timestamp");
+    private static final SerializableString TANKS = name("tanks");
+    private static final SerializableString BULLETS = name("bullets");
+    private static final SerializableString SCORES = name("scores");
+    private static final SerializableString PLAYER_STATS = name("playerStats");
+    private static final SerializableString GAME_INFO = name("gameInfo");
+
+    private static final SerializableString ID = name("id");
+    private static final SerializableString PLAYER_ID = name("playerId");
+    private static final SerializableString X = name("x");
+    private static final SerializableString Y = name("y");
+    private static final SerializableString DIRECTION = name("direction");
+    private static final SerializableString HEALTH = name("health");
+    private static final SerializableString AMMUNITION = name("ammunition");
+    private static final SerializableString SPEED = name("speed");
+    private static final SerializableString COLOR = name("color");
+    private static final SerializableString MOVING = name("moving");
+    private static final SerializableString LAST_SHOT_TIME = name("lastShotTime");
+    private static final SerializableString ALIVE = name("alive");
+    private static final SerializableString ANGLE = name("angle");
+    private static final SerializableString HEALTH_PERCENTAGE = name("healthPercentage");
+
+    private static final SerializableString OWNER_ID = name("ownerId");
+    private static final SerializableString DAMAGE = name("damage");
+    private static final SerializableString CREATED_TIME = name("createdTime");
+    private static final SerializableString ACTIVE = name("active");
+
+    private static final SerializableString PLAYER_NAME = name("playerName");
+    private static final SerializableString KILLS = name("kills");
+    private static final SerializableString DEATHS = name("deaths");
+
+    private static final SerializableString ACTIVE_PLAYERS = name("activePlayers");
+    private static final SerializableString GAME_START_TIME = name("gameStartTime");
+    private static final SerializableString GAME_DURATION = name("gameDuration");
+    private static final SerializableString GAME_STATUS = name("gameStatus");
+    private static final SerializableString STATUS_ACTIVE = name("ACTIVE");
+
+    private final Map<String, Tank> tanks;
+    private final List<Bullet> bullets;
+    private final Map<String, Integer> scores;
+    private final Map<String, GameStateDTO.PlayerStats> playerStats;
+    private final long gameStartTime;
+
+    GameStateSnapshotWriter(Map<String, Tank> tanks, List<Bullet> bullets, Map<String, Integer> scores,
+            Map<String, GameStateDTO.PlayerStats> playerStats, long gameStartTime) {
+        this.tanks = tanks;
+        this.bullets = bullets;
+        this.scores = scores;
+        this.playerStats = playerStats;
+        this.gameStartTime = gameStartTime;
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        long now = System.currentTimeMillis();
+        generator.writeStartObject();
+        generator.writeFieldName(TYPE);
+        generator.writeString(GAME_STATE_UPDATE);
+        generator.writeFieldName(TIMESTAMP);
+        generator.writeNumber(now);
+
+        generator.writeFieldName(TANKS);
+        generator.writeStartArray();
+        for (Tank tank : tanks.values()) {
+            writeTank(generator, tank);
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(BULLETS);
+        generator.writeStartArray();
+        synchronized (bullets) {
+            for (int i = 0; i < bullets.size(); i++) {
+                writeBullet(generator, bullets.get(i));
+            }
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName(SCORES);
+        generator.writeStartObject();
+        for (Map.Entry<String, Integer> score : scores.entrySet()) {
+            generator.writeFieldName(score.getKey());
+            generator.writeNumber(score.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeFieldName(PLAYER_STATS);
+        generator.writeStartObject();
+        for (Map.Entry<String, GameStateDTO.PlayerStats> entry : playerStats.entrySet()) {
+            generator.writeFieldName(entry.getKey());
+            writePlayerStats(generator, entry.getValue());
+        }
+        generator.writeEndObject();
+
+        generator.writeFieldName(GAME_INFO);
+        generator.writeStartObject();
+        generator.writeFieldName(ACTIVE_PLAYERS);
+        generator.writeNumber(tanks.size());
+        generator.writeFieldName(GAME_START_TIME);
+        generator.writeNumber(gameStartTime);
+        generator.writeFieldName(GAME_DURATION);
+        generator.writeNumber(now - gameStartTime);
+        generator.writeFieldName(GAME_STATUS);
+        generator.writeString(STATUS_ACTIVE);
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    private static void writeTank(JsonGenerator generator, Tank tank) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(tank.getId());
+        generator.writeFieldName(PLAYER_ID);
+        generator.writeString(tank.getPlayerId());
+        generator.writeFieldName(X);
+        generator.writeNumber(tank.getX());
+        generator.writeFieldName(Y);
+        generator.writeNumber(tank.getY());
+        generator.writeFieldName(DIRECTION);
+        generator.writeString(tank.getDirection().name());
+        generator.writeFieldName(HEALTH);
+        generator.writeNumber(tank.getHealth());
+        generator.writeFieldName(AMMUNITION);
+        generator.writeNumber(tank.getAmmunition());
+        generator.writeFieldName(SPEED);
+        generator.writeNumber(tank.getSpeed());
+        generator.writeFieldName(COLOR);
+        generator.writeString(tank.getColor());
+        generator.writeFieldName(MOVING);
+        generator.writeBoolean(tank.isMoving());
+        generator.writeFieldName(LAST_SHOT_TIME);
+        generator.writeNumber(tank.getLastShotTime());
+        generator.writeFieldName(ALIVE);
+        generator.writeBoolean(tank.isAlive());
+        generator.writeFieldName(ANGLE);
+        generator.writeNumber(tank.getAngle());
+        generator.writeFieldName(HEALTH_PERCENTAGE);
+        generator.writeNumber(tank.getHealthPercentage());
+        generator.writeEndObject();
+    }
+
+    private static void writeBullet(JsonGenerator generator, Bullet bullet) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeString(bullet.getId());
+        generator.writeFieldName(X);
+        generator.writeNumber(bullet.getX());
+        generator.writeFieldName(Y);
+        generator.writeNumber(bullet.getY());
+        generator.writeFieldName(DIRECTION);
+        generator.writeString(bullet.getDirection().name());
+        generator.writeFieldName(SPEED);
+        generator.writeNumber(bullet.getSpeed());
+        generator.writeFieldName(OWNER_ID);
+        generator.writeString(bullet.getOwnerId());
+        generator.writeFieldName(DAMAGE);
+        generator.writeNumber(bullet.getDamage());
+        generator.writeFieldName(CREATED_TIME);
+        generator.writeNumber(bullet.getCreatedTime());
+        generator.writeFieldName(ACTIVE);
+        generator.writeBoolean(bullet.isActive());
+        generator.writeEndObject();
+    }
+
+    private static void writePlayerStats(JsonGenerator generator, GameStateDTO.PlayerStats stats) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(PLAYER_NAME);
+        generator.writeString(stats.getPlayerName());
+        generator.writeFieldName(KILLS);
+        generator.writeNumber(stats.getKills());
+        generator.writeFieldName(DEATHS);
+        generator.writeNumber(stats.getDeaths());
+        generator.writeFieldName(HEALTH);
+        generator.writeNumber(stats.getHealth());
+        generator.writeFieldName(AMMUNITION);
+        generator.writeNumber(stats.getAmmunition());
+        generator.writeFieldName(ALIVE);
+        generator.writeBoolean(stats.isAlive());
+        generator.writeEndObject();
+    }
+
+    private static SerializableString name(String value) {
+        return new SerializedString(value);
+    }
+}
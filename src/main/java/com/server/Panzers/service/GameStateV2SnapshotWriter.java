@@ -0,0 +1,81 @@
+package com.server.Panzers.service;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.server.Panzers.model.game.Tank;
+
+// Version 2 of the game state schema, on /topic/gamestate.v2. Only entity state that changes
+// per tick is sent, under one-letter keys: tanks are identified by their number (names and
+// colors come from the roster), positions are rounded to whole pixels and the direction is its
+// ordinal. Health stays because every client draws the health bars of other tanks; ammunition,
+// score, kills and deaths go to their owner on /user/queue/hud and the ranking to
+// /topic/scoreboard. Bullets are not in the snapshot at all: clients simulate them from the
+// events on /topic/bullets. Derived and server-only fields (healthPercentage, speed,
+// lastShotTime, ids) are left out.
+//
+//   {"v":2,"t":timestamp,"p":activePlayers,
+//    "k":[{"n":number,"x":x,"y":y,"d":direction,"h":health}]}
+final class GameStateV2SnapshotWriter implements GameStateBroadcaster.SnapshotWriter {
+
+    public static final int VERSION = 2;
+
+    private static final SerializableString V = name("v");
+    private static final SerializableString T = name("t");
+    private static final SerializableString P = name("p");
+    private static final SerializableString K = name("k");
+    private static final SerializableString N = name("n");
+    private static final SerializableString X = name("x");
+    private static final SerializableString Y = name("y");
+    private static final SerializableString D = name("d");
+    private static final SerializableString H = name("h");
+
+    private final Map<String, Tank> tanks;
+
+    GameStateV2SnapshotWriter(Map<String, Tank> tanks) {
+        this.tanks = tanks;
+    }
+
+    @Override
+    public void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(V);
+        generator.writeNumber(VERSION);
+        generator.writeFieldName(T);
+        generator.writeNumber(System.currentTimeMillis());
+        generator.writeFieldName(P);
+        generator.writeNumber(tanks.size());
+
+        generator.writeFieldName(K);
+        generator.writeStartArray();
+        for (Tank tank : tanks.values()) {
+            generator.writeStartObject();
+            generator.writeFieldName(N);
+            generator.writeNumber(tank.getNumber());
+            generator.writeFieldName(X);
+            generator.writeNumber(pixel(tank.getX()));
+            generator.writeFieldName(Y);
+            generator.writeNumber(pixel(tank.getY()));
+            generator.writeFieldName(D);
+            generator.writeNumber(tank.getDirection().ordinal());
+            generator.writeFieldName(H);
+            generator.writeNumber(tank.getHealth());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+
+        generator.writeEndObject();
+    }
+
+    // Whole pixels are enough to draw, and ints are written without formatting a double
+    private static int pixel(double coordinate) {
+        return (int) Math.round(coordinate);
+    }
+
+    private static SerializableString name(String value) {
+        return new SerializedString(value);
+    }
+}
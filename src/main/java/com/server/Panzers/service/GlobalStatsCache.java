@@ -0,0 +1,96 @@
+package com.server.Panzers.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.server.Panzers.config.ReplicaRoutingDataSource;
+import com.server.Panzers.controller.LeaderboardController.GlobalStatsDTO;
+import com.server.Panzers.repository.AppliedIncrements;
+import com.server.Panzers.repository.GameStatisticsRepository;
+import com.server.Panzers.repository.UserRepository;
+
+// In-memory copy of the full-table aggregates behind /api/stats/global. Registrations and
+// finished sessions update it incrementally; the scheduled refresh re-reads the tables to
+// correct any drift (e.g. rows changed outside this node).
+@Component
+public class GlobalStatsCache {
+
+    private static final Logger LOGGER = Logger.getLogger(GlobalStatsCache.class.getName());
+
+    private final UserRepository userRepository;
+    private final GameStatisticsRepository gameStatisticsRepository;
+    private final StatisticsVersion statisticsVersion;
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicLong totalPlayers = new AtomicLong();
+    private final AtomicLong totalGames = new AtomicLong();
+    private final AtomicLong scoredPlayers = new AtomicLong();
+    private final AtomicLong scoreSum = new AtomicLong();
+    private volatile boolean loaded;
+
+    public GlobalStatsCache(UserRepository userRepository, GameStatisticsRepository gameStatisticsRepository,
+            StatisticsVersion statisticsVersion, PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.gameStatisticsRepository = gameStatisticsRepository;
+        this.statisticsVersion = statisticsVersion;
+        // A template rather than @Transactional: snapshot() calls refresh() on this instance,
+        // which would bypass the proxy
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(fixedRateString = "${tank.game.statistics.global-refresh-interval:60000}")
+    public void refresh() {
+        try {
+            // From the primary: a refresh that changes the figures bumps the statistics version,
+            // and a lagging replica would publish old figures under it
+            ReplicaRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.executeWithoutResult(status -> load()));
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Error refreshing global statistics: " + e.getMessage());
+        }
+    }
+
+    private void load() {
+        long players = userRepository.count();
+        long games = gameStatisticsRepository.count();
+        GameStatisticsRepository.ScoreAggregate aggregate = gameStatisticsRepository.getScoreAggregate();
+
+        boolean changed = totalPlayers.getAndSet(players) != players
+                | totalGames.getAndSet(games) != games
+                | scoredPlayers.getAndSet(aggregate.getPlayers()) != aggregate.getPlayers()
+                | scoreSum.getAndSet(aggregate.getTotalScore()) != aggregate.getTotalScore();
+        if (changed && loaded) {
+            statisticsVersion.increment(); // Rows changed outside the tracked write paths
+        }
+        loaded = true;
+    }
+
+    public void onUserRegistered() {
+        totalPlayers.incrementAndGet();
+    }
+
+    public void onStatisticsCreated() {
+        totalGames.incrementAndGet();
+    }
+
+    // New rows add to the row count; players with their first game join the average
+    public void onSessionsRecorded(long scoreDelta, AppliedIncrements applied) {
+        totalGames.addAndGet(applied.getInsertedRows());
+        scoredPlayers.addAndGet(applied.getFirstGamePlayers());
+        scoreSum.addAndGet(scoreDelta);
+    }
+
+    public GlobalStatsDTO snapshot(long onlinePlayers) {
+        if (!loaded) {
+            refresh();
+        }
+        long players = scoredPlayers.get();
+        double averageScore = players > 0 ? (double) scoreSum.get() / players : 0.0;
+        return new GlobalStatsDTO(totalPlayers.get(), totalGames.get(), averageScore, onlinePlayers);
+    }
+}
@@ -0,0 +1,53 @@
+package com.server.Panzers.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.server.Panzers.dto.HudDTO;
+
+// Sends each player's health, ammunition, score, kills and deaths to /user/queue/hud of the
+// WebSocket session that joined, and only when something changed since the last send. The
+// game loop offers the live values every tick; an unchanged HUD costs a comparison.
+//
+// Players are addressed by session id rather than by principal, so anonymous players get
+// their HUD too (the user destination resolver treats a user equal to the session id as that
+// session).
+@Component
+public class HudPublisher {
+
+    public static final String DESTINATION = "/queue/hud";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // playerId -> last HUD sent
+    private final Map<String, HudDTO> lastSent = new ConcurrentHashMap<>();
+
+    public HudPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public void publish(String playerId, String sessionId, int health, int ammunition, int score, int kills,
+            int deaths, boolean isAlive) {
+        HudDTO last = lastSent.get(playerId);
+        if (sessionId == null || (last != null && last.matches(health, ammunition, score, kills, deaths, isAlive))) {
+            return;
+        }
+        HudDTO hud = new HudDTO(health, ammunition, score, kills, deaths, isAlive);
+        lastSent.put(playerId, hud);
+
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId(sessionId);
+        headers.setLeaveMutable(true);
+        messagingTemplate.convertAndSendToUser(sessionId, DESTINATION, hud, headers.getMessageHeaders());
+    }
+
+    // The next publish for this player sends the full HUD again
+    public void remove(String playerId) {
+        lastSent.remove(playerId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.server.Panzers.service;
+
+// Parser for the compact input frames on /app/game/input: one ASCII line of a type letter and
+// up to five space-separated signed integers, read straight from the STOMP payload bytes.
+//
+//   M <sequence> <x> <y> <angle in milliradians> <flags>   move; flags: bit 0 moving,
+//                                                          bits 1-2 Tank.Direction ordinal
+//   S <sequence>                                           stop
+//   F <sequence>                                           fire
+//   R <sequence>                                           reload
+final class InputFrameParser {
+
+    private static final int MAX_FIELDS = 5;
+
+    private InputFrameParser() {
+    }
+
+    // Returns false if the frame is malformed or the slot rejected it
+    static boolean parse(byte[] frame, InputSlot slot) {
+        if (frame.length < 3 || frame[1] != ' ') {
+            return false;
+        }
+        byte type = frame[0];
+        long sequence = 0;
+        int x = 0;
+        int y = 0;
+        int angleMillis = 0;
+        int flags = 0;
+        int fields = 0;
+
+        int i = 2;
+        while (i < frame.length) {
+            if (fields == MAX_FIELDS) {
+                return false;
+            }
+            boolean negative = frame[i] == '-';
+            if (negative) {
+                i++;
+            }
+            int start = i;
+            long value = 0;
+            while (i < frame.length && frame[i] >= '0' && frame[i] <= '9') {
+                value = value * 10 + (frame[i] - '0');
+                if (value > Integer.MAX_VALUE) {
+                    return false;
+                }
+                i++;
+            }
+            if (i == start || (i < frame.length && frame[i] != ' ')) {
+                return false;
+            }
+            i++; // Separator
+
+            if (negative) {
+                value = -value;
+            }
+            switch (fields++) {
+                case 0 -> sequence = value;
+                case 1 -> x = (int) value;
+                case 2 -> y = (int) value;
+                case 3 -> angleMillis = (int) value;
+                default -> flags = (int) value;
+            }
+        }
+        if (fields == 0 || (type == InputSlot.MOVE && fields != MAX_FIELDS)) {
+            return false;
+        }
+        return slot.offer(type, sequence, x, y, angleMillis, flags);
+    }
+}
@@ -0,0 +1,131 @@
+package com.server.Panzers.service;
+
+// The latest input of one connection, written by inbound threads and drained once per tick by
+// the game loop. Moves overwrite each other, so however many arrive between two ticks only the
+// newest is applied; fire, stop and reload are flags. The game loop applies a pending move before
+// a pending stop, so a move clears any stop that came before it. Inbound threads may run the
+// messages of one connection out of order, so anything not newer than the last accepted sequence
+// is dropped.
+final class InputSlot {
+
+    static final byte MOVE = 'M';
+    static final byte STOP = 'S';
+    static final byte FIRE = 'F';
+    static final byte RELOAD = 'R';
+
+    private final String playerId;
+    private volatile long lastActivity = System.currentTimeMillis(); // Any input, compact or JSON
+
+    // Guarded by this
+    private long lastSequence = -1;
+    private boolean movePending;
+    private double x;
+    private double y;
+    private double angle;
+    private int direction;
+    private boolean moving;
+    private boolean stopPending;
+    private boolean firePending;
+    private boolean reloadPending;
+
+    InputSlot(String playerId) {
+        this.playerId = playerId;
+    }
+
+    void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    // Returns false for stale sequences and unknown types
+    synchronized boolean offer(byte type, long sequence, int x, int y, int angleMillis, int flags) {
+        if (sequence <= lastSequence) {
+            return false;
+        }
+        switch (type) {
+            case MOVE -> {
+                this.movePending = true;
+                this.x = x;
+                this.y = y;
+                this.angle = angleMillis / 1000.0;
+                this.direction = (flags >> 1) & 3;
+                this.moving = (flags & 1) != 0;
+                this.stopPending = false; // Superseded
+            }
+            case STOP -> stopPending = true;
+            case FIRE -> firePending = true;
+            case RELOAD -> reloadPending = true;
+            default -> {
+                return false;
+            }
+        }
+        lastSequence = sequence;
+        return true;
+    }
+
+    // Moves the pending input into target (a slot owned by the game loop) and clears it here;
+    // returns false if there was nothing pending
+    synchronized boolean transferTo(InputSlot target) {
+        if (!movePending && !stopPending && !firePending && !reloadPending) {
+            return false;
+        }
+        target.movePending = movePending;
+        target.x = x;
+        target.y = y;
+        target.angle = angle;
+        target.direction = direction;
+        target.moving = moving;
+        target.stopPending = stopPending;
+        target.firePending = firePending;
+        target.reloadPending = reloadPending;
+        movePending = false;
+        stopPending = false;
+        firePending = false;
+        reloadPending = false;
+        return true;
+    }
+
+    // Read by the game loop on its own target slot only
+    String getPlayerId() {
+        return playerId;
+    }
+
+    boolean isMovePending() {
+        return movePending;
+    }
+
+    double getX() {
+        return x;
+    }
+
+    double getY() {
+        return y;
+    }
+
+    double getAngle() {
+        return angle;
+    }
+
+    int getDirection() {
+        return direction;
+    }
+
+    boolean isMoving() {
+        return moving;
+    }
+
+    boolean isStopPending() {
+        return stopPending;
+    }
+
+    boolean isFirePending() {
+        return firePending;
+    }
+
+    boolean isReloadPending() {
+        return reloadPending;
+    }
+}
@@ -0,0 +1,183 @@
+package com.server.Panzers.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.server.Panzers.dto.GameStateDTO;
+import com.server.Panzers.dto.ScoreboardEntryDTO;
+
+// Live ranking of the current match: score changes re-position a single entry and the
+// game loop publishes an immutable, versioned snapshot (top-K rows and every player's score)
+// once per tick for REST readers. Clients
+// get the top of the snapshot pushed on /topic/scoreboard when it changed, at most once per
+// broadcast interval.
+@Component
+public class LiveScoreboard {
+
+    public static final String DESTINATION = "/topic/scoreboard";
+
+    private static final Comparator<Ranking> ORDER = Comparator
+            .comparingInt((Ranking ranking) -> ranking.score).reversed()
+            .thenComparing(ranking -> ranking.playerId);
+
+    private final NavigableSet<Ranking> ranking = new TreeSet<>(ORDER);
+    private final Map<String, Ranking> rankingByPlayer = new HashMap<>();
+    private final int snapshotSize;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int broadcastSize;
+    private final long broadcastIntervalMillis;
+
+    // Distinct versions across restarts
+    private volatile Snapshot snapshot = new Snapshot(System.currentTimeMillis(), List.of(), Map.of());
+    private boolean dirty;
+    private boolean broadcastPending;
+    private long nextBroadcastAt;
+
+    public LiveScoreboard(@Value("${tank.game.scoreboard.size:50}") int snapshotSize,
+            SimpMessagingTemplate messagingTemplate,
+            @Value("${tank.game.scoreboard.broadcast-size:10}") int broadcastSize,
+            @Value("${tank.game.scoreboard.broadcast-interval:1000}") long broadcastIntervalMillis) {
+        this.snapshotSize = snapshotSize;
+        this.messagingTemplate = messagingTemplate;
+        this.broadcastSize = broadcastSize;
+        this.broadcastIntervalMillis = broadcastIntervalMillis;
+    }
+
+    public synchronized void updateScore(String playerId, int score) {
+        Ranking current = rankingByPlayer.get(playerId);
+        if (current != null) {
+            if (current.score == score) {
+                return;
+            }
+            ranking.remove(current);
+        }
+        Ranking updated = new Ranking(playerId, score);
+        ranking.add(updated);
+        rankingByPlayer.put(playerId, updated);
+        dirty = true;
+    }
+
+    public synchronized void remove(String playerId) {
+        Ranking current = rankingByPlayer.remove(playerId);
+        if (current != null) {
+            ranking.remove(current);
+            dirty = true;
+        }
+    }
+
+    // Kills, deaths and alive state are part of the rows, so changes to them need a new snapshot too
+    public synchronized void markDirty() {
+        dirty = true;
+    }
+
+    public void publish(Map<String, String> playerNames, Map<String, GameStateDTO.PlayerStats> playerStats) {
+        List<ScoreboardEntryDTO> broadcast = rebuild(playerNames, playerStats);
+        if (broadcast != null) {
+            messagingTemplate.convertAndSend(DESTINATION, broadcast);
+        }
+    }
+
+    // Returns the rows to broadcast, or null if nothing changed or the last broadcast was too recent
+    private synchronized List<ScoreboardEntryDTO> rebuild(Map<String, String> playerNames,
+            Map<String, GameStateDTO.PlayerStats> playerStats) {
+        if (dirty) {
+            buildSnapshot(playerNames, playerStats);
+            broadcastPending = true;
+        }
+        long now = System.currentTimeMillis();
+        if (!broadcastPending || now < nextBroadcastAt) {
+            return null;
+        }
+        broadcastPending = false;
+        nextBroadcastAt = now + broadcastIntervalMillis;
+        return getTopPlayers(broadcastSize);
+    }
+
+    private void buildSnapshot(Map<String, String> playerNames, Map<String, GameStateDTO.PlayerStats> playerStats) {
+        List<ScoreboardEntryDTO> top = new ArrayList<>(Math.min(snapshotSize, ranking.size()));
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (Ranking entry : ranking) {
+            scores.put(entry.playerId, entry.score);
+            if (top.size() == snapshotSize) {
+                continue;
+            }
+            GameStateDTO.PlayerStats stats = playerStats.get(entry.playerId);
+            top.add(new ScoreboardEntryDTO(
+                    entry.playerId,
+                    playerNames.get(entry.playerId),
+                    entry.score,
+                    stats != null ? stats.getKills() : 0,
+                    stats != null ? stats.getDeaths() : 0,
+                    stats != null && stats.isAlive()
+            ));
+        }
+        snapshot = new Snapshot(snapshot.version + 1, List.copyOf(top), Collections.unmodifiableMap(scores));
+        dirty = false;
+    }
+
+    // Readers that derive an ETag and a body should take both from one snapshot
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public List<ScoreboardEntryDTO> getTopPlayers(int limit) {
+        return snapshot.getTopPlayers(limit);
+    }
+
+    public ScoreboardEntryDTO getLeader() {
+        return snapshot.getLeader();
+    }
+
+    public static final class Snapshot {
+
+        private final long version;
+        private final List<ScoreboardEntryDTO> top;
+        private final Map<String, Integer> scores;
+
+        private Snapshot(long version, List<ScoreboardEntryDTO> top, Map<String, Integer> scores) {
+            this.version = version;
+            this.top = top;
+            this.scores = scores;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        // Limits above the configured snapshot size are capped to the snapshot
+        public List<ScoreboardEntryDTO> getTopPlayers(int limit) {
+            return limit >= top.size() ? top : top.subList(0, Math.max(0, limit));
+        }
+
+        public ScoreboardEntryDTO getLeader() {
+            return top.isEmpty() ? null : top.get(0);
+        }
+
+        // Every player in the match, not only the top rows, in ranking order
+        public Map<String, Integer> getScores() {
+            return scores;
+        }
+    }
+
+    private static final class Ranking {
+
+        private final String playerId;
+        private final int score;
+
+        private Ranking(String playerId, int score) {
+            this.playerId = playerId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.server.Panzers.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.server.Panzers.model.SessionRollup;
+import com.server.Panzers.model.SessionRollup.Granularity;
+import com.server.Panzers.repository.SessionRollupRepository;
+import com.server.Panzers.repository.SessionRollupRepository.RollupTotals;
+
+// Session analytics answered from session_rollups instead of scanning game_sessions.
+// Figures cover finished sessions that the rollup job has processed, at hour resolution.
+@Service
+@Transactional(readOnly = true)
+public class SessionAnalyticsService {
+
+    private final SessionRollupRepository sessionRollupRepository;
+
+    public SessionAnalyticsService(SessionRollupRepository sessionRollupRepository) {
+        this.sessionRollupRepository = sessionRollupRepository;
+    }
+
+    public List<SessionRollup> getBuckets(Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        return sessionRollupRepository
+                .findByGranularityAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(granularity, from, to);
+    }
+
+    public SessionRollup getTotals(LocalDateTime from, LocalDateTime to) {
+        // Whole days come from the daily buckets, the partial days at both ends from the hourly ones
+        LocalDateTime fromHour = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime toHour = to.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime firstFullDay = fromHour.equals(fromHour.truncatedTo(ChronoUnit.DAYS))
+                ? fromHour : fromHour.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        LocalDateTime lastFullDayEnd = toHour.truncatedTo(ChronoUnit.DAYS);
+
+        SessionRollup totals = new SessionRollup();
+        if (firstFullDay.isBefore(lastFullDayEnd)) {
+            add(totals, sessionRollupRepository.sumBuckets(Granularity.HOURLY, fromHour, firstFullDay));
+            add(totals, sessionRollupRepository.sumBuckets(Granularity.DAILY, firstFullDay, lastFullDayEnd));
+            add(totals, sessionRollupRepository.sumBuckets(Granularity.HOURLY, lastFullDayEnd, toHour));
+        } else {
+            add(totals, sessionRollupRepository.sumBuckets(Granularity.HOURLY, fromHour, toHour));
+        }
+        return totals;
+    }
+
+    private void add(SessionRollup totals, RollupTotals sums) {
+        totals.setGames(totals.getGames() + sums.getGames());
+        totals.setWins(totals.getWins() + sums.getWins());
+        totals.setLosses(totals.getLosses() + sums.getLosses());
+        totals.setDraws(totals.getDraws() + sums.getDraws());
+        totals.setDisconnects(totals.getDisconnects() + sums.getDisconnects());
+        totals.setKills(totals.getKills() + sums.getKills());
+        totals.setDeaths(totals.getDeaths() + sums.getDeaths());
+        totals.setTotalScore(totals.getTotalScore() + sums.getTotalScore());
+        totals.setTotalDurationSeconds(totals.getTotalDurationSeconds() + sums.getTotalDurationSeconds());
+    }
+}
@@ -0,0 +1,443 @@
+package com.server.Panzers.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.model.GameSession;
+
+import jakarta.annotation.PostConstruct;
+
+// Cold tier for old game sessions: immutable, column-oriented segment files on local disk.
+//
+// Segment layout (all numbers big-endian):
+//   header     magic, version, row count
+//   directory  user count, then per user: user id, first row, row count, min start, max start
+//   columns    per column: compressed length + deflated values
+//              (id, start, end, score, kills, deaths, shots fired, shots hit, result, duration)
+// Rows are sorted by user and then newest start first, so a user's history is one contiguous
+// row range. Only the directories are kept in memory; column blocks are decoded on demand.
+@Component
+public class SessionArchive {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionArchive.class.getName());
+
+    private static final int MAGIC = 0x505A5341; // "PZSA"
+    private static final int VERSION = 1;
+    private static final String SEGMENT_PREFIX = "sessions-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int DECODED_CACHE_SIZE = 4;
+    private static final GameSession.GameResult[] RESULTS = GameSession.GameResult.values();
+
+    private final Path directory;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<Long, List<UserRange>> userIndex = new ConcurrentHashMap<>();
+    private final Map<Path, DecodedSegment> decodedCache = new LinkedHashMap<>(DECODED_CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Path, DecodedSegment> eldest) {
+            return size() > DECODED_CACHE_SIZE;
+        }
+    };
+
+    public SessionArchive(@Value("${tank.game.archive.directory:data/archive}") String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    @PostConstruct
+    public void loadIndex() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .forEach(path -> {
+                        try {
+                            register(readDirectory(path));
+                        } catch (IOException e) {
+                            LOGGER.warning(() -> "Skipping unreadable archive segment " + path + ": " + e.getMessage());
+                        }
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read session archive directory " + directory, e);
+        }
+        LOGGER.info(() -> "Session archive: " + segments.size() + " segments, " + getArchivedCount() + " sessions");
+    }
+
+    // Writes the rows as a new segment. The file is synced and then atomically renamed into place,
+    // so a crash never leaves a partially written segment behind.
+    public synchronized void writeSegment(List<SessionHistoryEntryDTO> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<SessionHistoryEntryDTO> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(SessionHistoryEntryDTO::getUserId)
+                .thenComparing(SessionHistoryEntryDTO::getSessionStart, Comparator.reverseOrder())
+                .thenComparing(SessionHistoryEntryDTO::getId, Comparator.reverseOrder()));
+
+        Files.createDirectories(directory);
+        long sequence = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).sequence + 1;
+        Path target = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(sorted.size());
+            writeDirectory(out, sorted);
+
+            writeColumn(out, sorted, (row, data) -> data.writeLong(row.getId()));
+            writeColumn(out, sorted, (row, data) -> data.writeLong(toEpochMilli(row.getSessionStart())));
+            writeColumn(out, sorted, (row, data) -> data.writeLong(toEpochMilli(row.getSessionEnd())));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getFinalScore()));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getKills()));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getDeaths()));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getShotsFired()));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getShotsHit()));
+            writeColumn(out, sorted, (row, data) -> data.writeByte(row.getGameResult() != null ? row.getGameResult().ordinal() : -1));
+            writeColumn(out, sorted, (row, data) -> data.writeInt(row.getDurationSeconds()));
+
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        register(readDirectory(target));
+    }
+
+    public long getArchivedCount() {
+        long count = 0;
+        for (Segment segment : segments) {
+            count += segment.rowCount;
+        }
+        return count;
+    }
+
+    public long countUserSessions(long userId) {
+        long count = 0;
+        for (UserRange range : userIndex.getOrDefault(userId, List.of())) {
+            count += range.rowCount;
+        }
+        return count;
+    }
+
+    // A page of the user's archived sessions, newest first
+    public List<SessionHistoryEntryDTO> findUserSessions(long userId, long offset, int limit) {
+        List<UserRange> ranges = new ArrayList<>(userIndex.getOrDefault(userId, List.of()));
+        if (ranges.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        ranges.sort(Comparator.comparingLong((UserRange range) -> range.maxStart).reversed());
+
+        if (overlaps(ranges)) {
+            // Segments written out of order: merge the user's rows before slicing
+            List<SessionHistoryEntryDTO> all = new ArrayList<>();
+            for (UserRange range : ranges) {
+                DecodedSegment decoded = decode(range.segment);
+                for (int row = range.firstRow; row < range.firstRow + range.rowCount; row++) {
+                    all.add(decoded.toEntry(row, userId));
+                }
+            }
+            all.sort(Comparator.comparing(SessionHistoryEntryDTO::getSessionStart, Comparator.reverseOrder()));
+            int from = (int) Math.min(offset, all.size());
+            return List.copyOf(all.subList(from, Math.min(all.size(), from + limit)));
+        }
+
+        // Ranges follow each other in time, so whole segments can be skipped using the directory counts
+        List<SessionHistoryEntryDTO> page = new ArrayList<>(limit);
+        long skip = offset;
+        for (UserRange range : ranges) {
+            if (skip >= range.rowCount) {
+                skip -= range.rowCount;
+                continue;
+            }
+            DecodedSegment decoded = decode(range.segment);
+            for (int row = range.firstRow + (int) skip; row < range.firstRow + range.rowCount && page.size() < limit; row++) {
+                page.add(decoded.toEntry(row, userId));
+            }
+            skip = 0;
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    // Streams every archived session, segment by segment (used by exports and rebuilds)
+    public void forEachSession(Consumer<SessionHistoryEntryDTO> consumer) {
+        for (Segment segment : segments) {
+            DecodedSegment decoded = decode(segment);
+            for (Map.Entry<Long, UserRange> user : segment.users.entrySet()) {
+                UserRange range = user.getValue();
+                for (int row = range.firstRow; row < range.firstRow + range.rowCount; row++) {
+                    consumer.accept(decoded.toEntry(row, user.getKey()));
+                }
+            }
+        }
+    }
+
+    public List<Long> getNewestSegmentIds() {
+        if (segments.isEmpty()) {
+            return List.of();
+        }
+        long[] ids = decode(segments.get(segments.size() - 1)).ids;
+        List<Long> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+
+    private boolean overlaps(List<UserRange> rangesByNewest) {
+        for (int i = 1; i < rangesByNewest.size(); i++) {
+            if (rangesByNewest.get(i).maxStart > rangesByNewest.get(i - 1).minStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void register(Segment segment) {
+        segments.add(segment);
+        for (Map.Entry<Long, UserRange> user : segment.users.entrySet()) {
+            userIndex.merge(user.getKey(), List.of(user.getValue()), (current, added) -> {
+                List<UserRange> merged = new ArrayList<>(current);
+                merged.addAll(added);
+                return List.copyOf(merged);
+            });
+        }
+    }
+
+    private void writeDirectory(DataOutputStream out, List<SessionHistoryEntryDTO> sorted) throws IOException {
+        List<long[]> users = new ArrayList<>();
+        int first = 0;
+        for (int row = 1; row <= sorted.size(); row++) {
+            if (row == sorted.size() || sorted.get(row).getUserId() != sorted.get(first).getUserId()) {
+                // Rows are newest first within a user
+                users.add(new long[]{
+                    sorted.get(first).getUserId(), first, row - first,
+                    toEpochMilli(sorted.get(row - 1).getSessionStart()), toEpochMilli(sorted.get(first).getSessionStart())
+                });
+                first = row;
+            }
+        }
+        out.writeInt(users.size());
+        for (long[] user : users) {
+            out.writeLong(user[0]);
+            out.writeInt((int) user[1]);
+            out.writeInt((int) user[2]);
+            out.writeLong(user[3]);
+            out.writeLong(user[4]);
+        }
+    }
+
+    private void writeColumn(DataOutputStream out, List<SessionHistoryEntryDTO> rows, ColumnWriter writer) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(compressed)))) {
+            for (SessionHistoryEntryDTO row : rows) {
+                writer.write(row, data);
+            }
+        }
+        out.writeInt(compressed.size());
+        compressed.writeTo(out);
+    }
+
+    private Segment readDirectory(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            int rowCount = readHeader(in, path);
+            int userCount = in.readInt();
+            Segment segment = new Segment(path, parseSequence(path), rowCount);
+            for (int i = 0; i < userCount; i++) {
+                long userId = in.readLong();
+                segment.users.put(userId, new UserRange(segment, in.readInt(), in.readInt(), in.readLong(), in.readLong()));
+            }
+            return segment;
+        }
+    }
+
+    private DecodedSegment decode(Segment segment) {
+        synchronized (decodedCache) {
+            DecodedSegment cached = decodedCache.get(segment.path);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        DecodedSegment decoded;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment.path)))) {
+            int rows = readHeader(in, segment.path);
+            int userCount = in.readInt();
+            in.skipNBytes((long) userCount * (8 + 4 + 4 + 8 + 8));
+
+            decoded = new DecodedSegment(rows);
+            try (DataInputStream column = openColumn(in)) {
+                for (int row = 0; row < rows; row++) {
+                    decoded.ids[row] = column.readLong();
+                }
+            }
+            try (DataInputStream column = openColumn(in)) {
+                for (int row = 0; row < rows; row++) {
+                    decoded.starts[row] = column.readLong();
+                }
+            }
+            try (DataInputStream column = openColumn(in)) {
+                for (int row = 0; row < rows; row++) {
+                    decoded.ends[row] = column.readLong();
+                }
+            }
+            readInts(openColumn(in), decoded.scores);
+            readInts(openColumn(in), decoded.kills);
+            readInts(openColumn(in), decoded.deaths);
+            readInts(openColumn(in), decoded.shotsFired);
+            readInts(openColumn(in), decoded.shotsHit);
+            try (DataInputStream column = openColumn(in)) {
+                for (int row = 0; row < rows; row++) {
+                    decoded.results[row] = column.readByte();
+                }
+            }
+            readInts(openColumn(in), decoded.durations);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read archive segment " + segment.path, e);
+        }
+        synchronized (decodedCache) {
+            decodedCache.put(segment.path, decoded);
+        }
+        return decoded;
+    }
+
+    private int readHeader(DataInputStream in, Path path) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a session archive segment: " + path);
+        }
+        return in.readInt();
+    }
+
+    private DataInputStream openColumn(DataInputStream in) throws IOException {
+        byte[] compressed = in.readNBytes(in.readInt());
+        InputStream inflated = new InflaterInputStream(new ByteArrayInputStream(compressed));
+        return new DataInputStream(new BufferedInputStream(inflated));
+    }
+
+    private void readInts(DataInputStream column, int[] target) throws IOException {
+        try (column) {
+            for (int row = 0; row < target.length; row++) {
+                target[row] = column.readInt();
+            }
+        }
+    }
+
+    private static long parseSequence(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : Long.MIN_VALUE;
+    }
+
+    private static LocalDateTime fromEpochMilli(long millis) {
+        return millis != Long.MIN_VALUE ? LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC) : null;
+    }
+
+    private interface ColumnWriter {
+
+        void write(SessionHistoryEntryDTO row, DataOutputStream data) throws IOException;
+    }
+
+    private static final class Segment {
+
+        private final Path path;
+        private final long sequence;
+        private final int rowCount;
+        private final Map<Long, UserRange> users = new LinkedHashMap<>();
+
+        private Segment(Path path, long sequence, int rowCount) {
+            this.path = path;
+            this.sequence = sequence;
+            this.rowCount = rowCount;
+        }
+    }
+
+    private static final class UserRange {
+
+        private final Segment segment;
+        private final int firstRow;
+        private final int rowCount;
+        private final long minStart;
+        private final long maxStart;
+
+        private UserRange(Segment segment, int firstRow, int rowCount, long minStart, long maxStart) {
+            this.segment = segment;
+            this.firstRow = firstRow;
+            this.rowCount = rowCount;
+            this.minStart = minStart;
+            this.maxStart = maxStart;
+        }
+    }
+
+    private static final class DecodedSegment {
+
+        private final long[] ids;
+        private final long[] starts;
+        private final long[] ends;
+        private final int[] scores;
+        private final int[] kills;
+        private final int[] deaths;
+        private final int[] shotsFired;
+        private final int[] shotsHit;
+        private final byte[] results;
+        private final int[] durations;
+
+        private DecodedSegment(int rows) {
+            ids = new long[rows];
+            starts = new long[rows];
+            ends = new long[rows];
+            scores = new int[rows];
+            kills = new int[rows];
+            deaths = new int[rows];
+            shotsFired = new int[rows];
+            shotsHit = new int[rows];
+            results = new byte[rows];
+            durations = new int[rows];
+        }
+
+        private SessionHistoryEntryDTO toEntry(int row, long userId) {
+            return new SessionHistoryEntryDTO(ids[row], userId, fromEpochMilli(starts[row]), fromEpochMilli(ends[row]),
+                    scores[row], kills[row], deaths[row], shotsFired[row], shotsHit[row],
+                    results[row] >= 0 ? RESULTS[results[row]] : null, durations[row], true);
+        }
+    }
+}
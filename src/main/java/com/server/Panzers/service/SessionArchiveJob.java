@@ -0,0 +1,85 @@
+package com.server.Panzers.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.repository.GameSessionRepository;
+
+// Moves rolled-up sessions older than the retention window out of game_sessions into archive
+// segments. A segment is durable before its rows are deleted; if the server stops in between,
+// the next run deletes the newest segment's ids again before selecting anything new.
+@Service
+public class SessionArchiveJob {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionArchiveJob.class.getName());
+    private static final int DELETE_CHUNK_SIZE = 500;
+
+    private final GameSessionRepository gameSessionRepository;
+    private final SessionArchive sessionArchive;
+    private final StatisticsWriteGate statisticsWriteGate;
+    private final int retentionDays;
+    private final int segmentSize;
+
+    public SessionArchiveJob(GameSessionRepository gameSessionRepository, SessionArchive sessionArchive,
+            StatisticsWriteGate statisticsWriteGate,
+            @Value("${tank.game.archive.retention-days:90}") int retentionDays,
+            @Value("${tank.game.archive.segment-size:50000}") int segmentSize) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.sessionArchive = sessionArchive;
+        this.statisticsWriteGate = statisticsWriteGate;
+        this.retentionDays = retentionDays;
+        this.segmentSize = segmentSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tank.game.archive.interval:3600000}", initialDelayString = "${tank.game.archive.interval:3600000}")
+    public void archive() {
+        // Moving rows between the tiers under a running rebuild would count them twice or not at all
+        if (!statisticsWriteGate.tryEnter()) {
+            return;
+        }
+        try {
+            deleteInChunks(sessionArchive.getNewestSegmentIds());
+
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            long archived = 0;
+            List<SessionHistoryEntryDTO> rows;
+            do {
+                rows = gameSessionRepository.findSessionsToArchive(cutoff, PageRequest.of(0, segmentSize));
+                if (rows.isEmpty()) {
+                    break;
+                }
+                sessionArchive.writeSegment(rows);
+
+                List<Long> ids = new ArrayList<>(rows.size());
+                for (SessionHistoryEntryDTO row : rows) {
+                    ids.add(row.getId());
+                }
+                deleteInChunks(ids);
+                archived += rows.size();
+            } while (rows.size() == segmentSize);
+
+            if (archived > 0) {
+                final long total = archived;
+                LOGGER.info(() -> "Archived " + total + " game sessions older than " + cutoff);
+            }
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Error archiving game sessions: " + e.getMessage());
+        } finally {
+            statisticsWriteGate.exit();
+        }
+    }
+
+    private void deleteInChunks(List<Long> ids) {
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            gameSessionRepository.deleteByIdIn(ids.subList(from, Math.min(ids.size(), from + DELETE_CHUNK_SIZE)));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.server.Panzers.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.dto.SessionHistoryPageDTO;
+import com.server.Panzers.repository.GameSessionRepository;
+
+// Per-player session history across both tiers. Archived sessions are always older than the
+// ones still in the database, so the history is the hot rows followed by the cold rows.
+@Service
+@Transactional(readOnly = true)
+public class SessionHistoryService {
+
+    private final GameSessionRepository gameSessionRepository;
+    private final SessionArchive sessionArchive;
+
+    public SessionHistoryService(GameSessionRepository gameSessionRepository, SessionArchive sessionArchive) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.sessionArchive = sessionArchive;
+    }
+
+    public SessionHistoryPageDTO getHistory(Long userId, int page, int size) {
+        long hotCount = gameSessionRepository.countByUserId(userId);
+        long coldCount = sessionArchive.countUserSessions(userId);
+        long offset = (long) page * size;
+
+        List<SessionHistoryEntryDTO> sessions = new ArrayList<>(size);
+        if (offset < hotCount) {
+            // Page boundaries line up with the request, so PageRequest can be used directly
+            sessions.addAll(gameSessionRepository.findHistoryByUserId(userId, PageRequest.of(page, size)));
+        }
+        if (sessions.size() < size && coldCount > 0) {
+            long coldOffset = Math.max(0, offset - hotCount);
+            sessions.addAll(sessionArchive.findUserSessions(userId, coldOffset, size - sessions.size()));
+        }
+
+        return new SessionHistoryPageDTO(sessions, page, size, hotCount + coldCount, coldCount);
+    }
+}
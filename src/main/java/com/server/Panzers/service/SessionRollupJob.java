@@ -0,0 +1,108 @@
+package com.server.Panzers.service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.server.Panzers.model.SessionRollup;
+import com.server.Panzers.model.SessionRollup.Granularity;
+import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.GameSessionRepository.FinishedSessionRow;
+import com.server.Panzers.repository.SessionRollupRepository;
+
+// Incrementally folds finished sessions into hourly and daily buckets (keyed by session start).
+// Each batch adds to its buckets and flags the sessions as rolled up in one transaction, so a
+// session is counted exactly once even if the job or the server stops half way.
+@Service
+public class SessionRollupJob {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionRollupJob.class.getName());
+
+    private final GameSessionRepository gameSessionRepository;
+    private final SessionRollupRepository sessionRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SessionRollupJob(GameSessionRepository gameSessionRepository, SessionRollupRepository sessionRollupRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${tank.game.rollup.batch-size:1000}") int batchSize) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.sessionRollupRepository = sessionRollupRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tank.game.rollup.interval:60000}")
+    public void rollUp() {
+        try {
+            long total = 0;
+            int processed;
+            do {
+                Integer batch = transactionTemplate.execute(status -> rollUpBatch());
+                processed = batch != null ? batch : 0;
+                total += processed;
+            } while (processed == batchSize);
+
+            if (total > 0) {
+                final long rolledUp = total;
+                LOGGER.fine(() -> "Rolled up " + rolledUp + " finished sessions");
+            }
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Error rolling up game sessions: " + e.getMessage());
+        }
+    }
+
+    private int rollUpBatch() {
+        List<FinishedSessionRow> rows = gameSessionRepository.findSessionsToRollUp(PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        Map<LocalDateTime, SessionRollup> hourly = new HashMap<>();
+        Map<LocalDateTime, SessionRollup> daily = new HashMap<>();
+        List<Long> ids = new ArrayList<>(rows.size());
+
+        for (FinishedSessionRow row : rows) {
+            ids.add(row.getId());
+            LocalDateTime hour = row.getSessionStart().truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime day = row.getSessionStart().truncatedTo(ChronoUnit.DAYS);
+            addRow(hourly.computeIfAbsent(hour, start -> new SessionRollup(Granularity.HOURLY, start)), row);
+            addRow(daily.computeIfAbsent(day, start -> new SessionRollup(Granularity.DAILY, start)), row);
+        }
+
+        merge(Granularity.HOURLY, hourly);
+        merge(Granularity.DAILY, daily);
+        gameSessionRepository.markRolledUp(ids);
+        return rows.size();
+    }
+
+    private void addRow(SessionRollup rollup, FinishedSessionRow row) {
+        rollup.addSession(row.getGameResult(), valueOf(row.getDurationSeconds()), valueOf(row.getKillsInSession()),
+                valueOf(row.getDeathsInSession()), valueOf(row.getFinalScore()));
+    }
+
+    // Adds the batch totals onto the stored buckets, creating the missing ones
+    private void merge(Granularity granularity, Map<LocalDateTime, SessionRollup> increments) {
+        List<SessionRollup> existing = sessionRollupRepository.findByGranularityAndBucketStartIn(granularity, increments.keySet());
+        for (SessionRollup stored : existing) {
+            stored.add(increments.remove(stored.getBucketStart()));
+        }
+        sessionRollupRepository.saveAll(existing);
+        sessionRollupRepository.saveAll(increments.values());
+    }
+
+    private static int valueOf(Integer value) {
+        return value != null ? value : 0;
+    }
+}
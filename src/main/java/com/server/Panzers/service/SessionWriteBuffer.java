@@ -0,0 +1,315 @@
+package com.server.Panzers.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.server.Panzers.model.GameSession;
+import com.server.Panzers.repository.AppliedIncrements;
+import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.GameStatisticsRepository;
+import com.server.Panzers.repository.SessionSnapshot;
+import com.server.Panzers.repository.StatisticsDelta;
+
+import jakarta.annotation.PreDestroy;
+
+// The only writer of live game sessions and their statistics. The game thread hands over a
+// snapshot and never waits on the database; snapshots of the same session are coalesced and
+// written in batches by one scheduled flush at a time. Ended sessions are added to
+// game_statistics in the same transaction that marks them stats_applied.
+//
+// A failed or over-budget write trips a circuit breaker. While it is open, and for every batch
+// that fails, snapshots are appended to a local spill file and fsynced; once a probe write
+// succeeds the file is replayed in order before any newer snapshot is written. Every write is
+// an idempotent upsert, so replaying a batch that did reach the database is harmless.
+//
+// While a statistics rebuild holds the StatisticsWriteGate nothing is written: snapshots keep
+// coalescing in memory and go out with the first flush after the rebuild.
+@Service
+public class SessionWriteBuffer {
+
+    private static final Logger LOGGER = Logger.getLogger(SessionWriteBuffer.class.getName());
+
+    private final GameSessionRepository gameSessionRepository;
+    private final GameStatisticsRepository gameStatisticsRepository;
+    private final GlobalStatsCache globalStatsCache;
+    private final StatisticsVersion statisticsVersion;
+    private final StatisticsWriteGate statisticsWriteGate;
+    private final TransactionTemplate transactionTemplate;
+    private final Path spillFile;
+    private final int batchSize;
+    private final long latencyBudgetMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private Map<String, SessionSnapshot> pending = new LinkedHashMap<>();
+
+    // Circuit breaker, only touched by the flushing thread
+    private int consecutiveFailures;
+    private long openUntil;
+
+    // Metrics
+    private volatile boolean circuitOpen;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong spilled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+
+    public SessionWriteBuffer(GameSessionRepository gameSessionRepository,
+            GameStatisticsRepository gameStatisticsRepository, GlobalStatsCache globalStatsCache,
+            StatisticsVersion statisticsVersion, StatisticsWriteGate statisticsWriteGate,
+            PlatformTransactionManager transactionManager,
+            @Value("${tank.game.persistence.spill-file:data/spill/sessions.spill}") String spillFile,
+            @Value("${tank.game.persistence.batch-size:500}") int batchSize,
+            @Value("${tank.game.persistence.latency-budget-ms:2000}") long latencyBudgetMillis,
+            @Value("${tank.game.persistence.failure-threshold:3}") int failureThreshold,
+            @Value("${tank.game.persistence.open-interval:10000}") long openMillis) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.gameStatisticsRepository = gameStatisticsRepository;
+        this.globalStatsCache = globalStatsCache;
+        this.statisticsVersion = statisticsVersion;
+        this.statisticsWriteGate = statisticsWriteGate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Queries are cancelled once the budget is spent (rounded up to whole seconds)
+        this.transactionTemplate.setTimeout((int) Math.max(1, (latencyBudgetMillis + 999) / 1000));
+        this.spillFile = Paths.get(spillFile);
+        this.batchSize = batchSize;
+        this.latencyBudgetMillis = latencyBudgetMillis;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    // Called on game and inbound threads; never blocks on I/O
+    public synchronized void submit(GameSession session) {
+        SessionSnapshot snapshot = SessionSnapshot.of(session);
+        pending.put(snapshot.getSessionKey(), snapshot);
+    }
+
+    @Scheduled(fixedDelayString = "${tank.game.persistence.flush-interval:500}")
+    public void flush() {
+        if (!statisticsWriteGate.tryEnter()) {
+            return; // Rebuild running: pending snapshots stay queued
+        }
+        try {
+            flushPending();
+        } finally {
+            statisticsWriteGate.exit();
+        }
+    }
+
+    private void flushPending() {
+        List<SessionSnapshot> batch = takePending();
+        long now = System.currentTimeMillis();
+        if (circuitOpen && now < openUntil) {
+            spill(batch);
+            return;
+        }
+
+        boolean withinBudget;
+        try {
+            withinBudget = !Files.exists(spillFile) || replaySpill();
+            withinBudget &= writeAll(batch);
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Session write failed, spilling " + batch.size() + " snapshots: " + e.getMessage());
+            onWriteFailed();
+            // Snapshots of an earlier chunk may have been written; replaying them later is harmless
+            spill(batch);
+            return;
+        }
+        if (withinBudget) {
+            onWriteSucceeded();
+        } else {
+            onWriteFailed(); // Written, but slow enough to count against the breaker
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        // Skip the breaker: whatever cannot be written now ends up in the spill file
+        openUntil = 0;
+        if (!statisticsWriteGate.tryEnter()) {
+            spill(takePending()); // Replayed by the first flush after the restart
+            return;
+        }
+        try {
+            flushPending();
+        } finally {
+            statisticsWriteGate.exit();
+        }
+    }
+
+    private synchronized List<SessionSnapshot> takePending() {
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        List<SessionSnapshot> batch = new ArrayList<>(pending.values());
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    // Returns false if any chunk took longer than the latency budget
+    private boolean writeAll(List<SessionSnapshot> snapshots) {
+        boolean withinBudget = true;
+        for (int from = 0; from < snapshots.size(); from += batchSize) {
+            withinBudget &= write(snapshots.subList(from, Math.min(snapshots.size(), from + batchSize)));
+        }
+        return withinBudget;
+    }
+
+    private boolean write(List<SessionSnapshot> snapshots) {
+        long started = System.currentTimeMillis();
+        AppliedIncrements[] applied = new AppliedIncrements[1];
+        Map<Long, StatisticsDelta> deltas = new LinkedHashMap<>();
+        List<SessionSnapshot> claimed = transactionTemplate.execute(status -> {
+            List<SessionSnapshot> newlyEnded = gameSessionRepository.writeSnapshots(snapshots);
+            for (SessionSnapshot snapshot : newlyEnded) {
+                deltas.merge(snapshot.getUserId(), StatisticsDelta.of(snapshot), StatisticsDelta::merge);
+            }
+            applied[0] = gameStatisticsRepository.applyIncrements(new ArrayList<>(deltas.values()));
+            return newlyEnded;
+        });
+        written.addAndGet(snapshots.size());
+
+        if (claimed != null && !claimed.isEmpty()) {
+            gameStatisticsRepository.evictCachedStatistics(deltas.keySet());
+            globalStatsCache.onSessionsRecorded(claimed.stream().mapToLong(SessionSnapshot::getFinalScore).sum(),
+                    applied[0]);
+            statisticsVersion.increment();
+        }
+
+        long elapsed = System.currentTimeMillis() - started;
+        if (elapsed > latencyBudgetMillis) {
+            LOGGER.warning(() -> "Session write of " + snapshots.size() + " snapshots took " + elapsed + " ms");
+            return false;
+        }
+        return true;
+    }
+
+    // Replays the spill file in order. Later lines of the same session supersede earlier ones,
+    // so only the newest snapshot of each session is written. The file is removed only after
+    // everything in it has been written.
+    private boolean replaySpill() throws IOException {
+        Map<String, SessionSnapshot> spilledSnapshots = new LinkedHashMap<>();
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    SessionSnapshot snapshot = SessionSnapshot.fromLine(line);
+                    spilledSnapshots.remove(snapshot.getSessionKey());
+                    spilledSnapshots.put(snapshot.getSessionKey(), snapshot);
+                } catch (RuntimeException e) {
+                    skipped++; // Torn last line of a crash during append
+                }
+            }
+        }
+
+        List<SessionSnapshot> snapshots = new ArrayList<>(spilledSnapshots.values());
+        boolean withinBudget = writeAll(snapshots);
+        Files.delete(spillFile);
+        replayed.addAndGet(snapshots.size());
+
+        final int skippedLines = skipped;
+        LOGGER.info(() -> "Replayed " + snapshots.size() + " spilled session snapshots"
+                + (skippedLines > 0 ? " (" + skippedLines + " unreadable lines skipped)" : ""));
+        return withinBudget;
+    }
+
+    private void spill(Collection<SessionSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(snapshots.size() * 128);
+        for (SessionSnapshot snapshot : snapshots) {
+            lines.append(snapshot.toLine()).append('\n');
+        }
+        try {
+            Files.createDirectories(spillFile.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            spilled.addAndGet(snapshots.size());
+        } catch (IOException e) {
+            // Neither the database nor the disk took them: keep them in memory for the next flush
+            LOGGER.severe(() -> "Could not spill " + snapshots.size() + " session snapshots: " + e.getMessage());
+            requeue(snapshots);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void requeue(Collection<SessionSnapshot> snapshots) {
+        Map<String, SessionSnapshot> merged = new LinkedHashMap<>();
+        for (SessionSnapshot snapshot : snapshots) {
+            merged.put(snapshot.getSessionKey(), snapshot);
+        }
+        merged.putAll(pending); // Newer snapshots win
+        pending = merged;
+    }
+
+    private void onWriteSucceeded() {
+        if (circuitOpen) {
+            LOGGER.info("Database writes recovered, closing the session write circuit");
+        }
+        consecutiveFailures = 0;
+        circuitOpen = false;
+    }
+
+    private void onWriteFailed() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= failureThreshold) {
+            if (!circuitOpen) {
+                LOGGER.warning(() -> "Opening the session write circuit after " + consecutiveFailures
+                        + " failed or slow writes, spilling to " + spillFile.toAbsolutePath());
+            }
+            circuitOpen = true;
+            openUntil = System.currentTimeMillis() + openMillis;
+        }
+    }
+
+    public boolean isCircuitOpen() {
+        return circuitOpen;
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    public long getSpilledCount() {
+        return spilled.get();
+    }
+
+    public long getReplayedCount() {
+        return replayed.get();
+    }
+}
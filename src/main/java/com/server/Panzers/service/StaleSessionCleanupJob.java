@@ -0,0 +1,114 @@
+package com.server.Panzers.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.server.Panzers.repository.GameSessionRepository;
+
+// Closes sessions that were never ended (server crash, lost disconnects) as DISCONNECT.
+// Works in small bulk UPDATE chunks with a pause in between, so row locks are held only for
+// one chunk at a time and live session writes are not stalled on a large table.
+@Service
+public class StaleSessionCleanupJob {
+
+    private static final Logger LOGGER = Logger.getLogger(StaleSessionCleanupJob.class.getName());
+
+    private final GameSessionRepository gameSessionRepository;
+    private final int staleAfterHours;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+
+    // Progress metrics
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong totalClosed = new AtomicLong();
+    private volatile long lastRunClosed;
+    private volatile long lastRunChunks;
+    private volatile long lastRunMillis;
+    private volatile boolean running;
+
+    public StaleSessionCleanupJob(GameSessionRepository gameSessionRepository,
+            @Value("${tank.game.maintenance.stale-session-hours:24}") int staleAfterHours,
+            @Value("${tank.game.maintenance.chunk-size:500}") int chunkSize,
+            @Value("${tank.game.maintenance.chunk-pause-ms:50}") long chunkPauseMs) {
+        this.gameSessionRepository = gameSessionRepository;
+        this.staleAfterHours = staleAfterHours;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMs = chunkPauseMs;
+    }
+
+    public void run() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(staleAfterHours);
+        long started = System.currentTimeMillis();
+        long closed = 0;
+        long chunks = 0;
+        running = true;
+
+        try {
+            List<Long> ids = gameSessionRepository.findStaleSessionIds(cutoff, PageRequest.of(0, chunkSize));
+            while (!ids.isEmpty()) {
+                // Closed rows no longer match the query, so the next chunk always starts from the top
+                closed += gameSessionRepository.closeStaleSessions(ids, cutoff, LocalDateTime.now());
+                chunks++;
+                lastRunClosed = closed;
+                lastRunChunks = chunks;
+
+                final long closedSoFar = closed;
+                LOGGER.fine(() -> "Stale session cleanup: " + closedSoFar + " sessions closed so far");
+
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(chunkPauseMs);
+                ids = gameSessionRepository.findStaleSessionIds(cutoff, PageRequest.of(0, chunkSize));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.warning(() -> "Error cleaning up old sessions: " + e.getMessage());
+        } finally {
+            running = false;
+            runs.incrementAndGet();
+            totalClosed.addAndGet(closed);
+            lastRunClosed = closed;
+            lastRunChunks = chunks;
+            lastRunMillis = System.currentTimeMillis() - started;
+        }
+
+        if (closed > 0) {
+            final long closedSessions = closed;
+            final long chunkCount = chunks;
+            LOGGER.info(() -> String.format("Stale session cleanup closed %d sessions in %d chunks (%d ms)",
+                    closedSessions, chunkCount, lastRunMillis));
+        }
+    }
+
+    public long getRuns() {
+        return runs.get();
+    }
+
+    public long getTotalClosed() {
+        return totalClosed.get();
+    }
+
+    public long getLastRunClosed() {
+        return lastRunClosed;
+    }
+
+    public long getLastRunChunks() {
+        return lastRunChunks;
+    }
+
+    public long getLastRunMillis() {
+        return lastRunMillis;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+}
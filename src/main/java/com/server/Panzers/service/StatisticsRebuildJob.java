@@ -0,0 +1,430 @@
+package com.server.Panzers.service;
+
+import java.io.Serial;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.model.GameSession;
+import com.server.Panzers.repository.GameStatisticsRepository;
+
+// Recomputes game_statistics from scratch out of the session history (database and archive),
+// for when the incrementally maintained counters have drifted.
+//
+// The reader walks game_sessions by primary key (keyset pagination, never OFFSET) into
+// column arrays; each chunk is aggregated per user on a fork/join pool while the next chunk
+// is being read. The per-user totals are then written back with JDBC batch UPDATEs, followed
+// by batch INSERTs for users that have no statistics row yet. The StatisticsWriteGate is closed
+// for the whole run, so the session write buffer and the archive job hold their work until the
+// totals are written and no increment lands between the scan and the overwrite.
+//
+// Started at startup (rebuild-on-startup) or on demand from the admin API.
+@Service
+public class StatisticsRebuildJob {
+
+    private static final Logger LOGGER = Logger.getLogger(StatisticsRebuildJob.class.getName());
+
+    private static final String SELECT_CHUNK = "SELECT id, user_id, game_result, kills_in_session, deaths_in_session, "
+            + "final_score, duration_seconds, shots_fired, shots_hit FROM game_sessions "
+            + "WHERE id > ? AND id <= ? AND session_end IS NOT NULL ORDER BY id LIMIT ?";
+    private static final String UPDATE_STATISTICS = "UPDATE game_statistics SET total_games = ?, wins = ?, losses = ?, "
+            + "draws = ?, kills = ?, deaths = ?, total_score = ?, highest_score = ?, total_playtime_seconds = ?, "
+            + "shots_fired = ?, shots_hit = ?, updated_at = ? WHERE user_id = ?";
+    private static final String INSERT_STATISTICS = "INSERT INTO game_statistics (total_games, wins, losses, draws, kills, "
+            + "deaths, total_score, highest_score, total_playtime_seconds, shots_fired, shots_hit, updated_at, user_id, "
+            + "created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int MAX_CHUNKS_IN_FLIGHT = 4;
+    private static final long PROGRESS_LOG_INTERVAL_MS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final GameStatisticsRepository gameStatisticsRepository;
+    private final SessionArchive sessionArchive;
+    private final GlobalStatsCache globalStatsCache;
+    private final StatisticsVersion statisticsVersion;
+    private final StatisticsWriteGate statisticsWriteGate;
+    private final int chunkSize;
+    private final int writeBatchSize;
+    private final int parallelism;
+    private final boolean rebuildOnStartup;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public StatisticsRebuildJob(JdbcTemplate jdbcTemplate, GameStatisticsRepository gameStatisticsRepository,
+            SessionArchive sessionArchive,
+            GlobalStatsCache globalStatsCache, StatisticsVersion statisticsVersion,
+            StatisticsWriteGate statisticsWriteGate,
+            @Value("${tank.game.statistics.rebuild-chunk-size:10000}") int chunkSize,
+            @Value("${tank.game.statistics.rebuild-write-batch-size:1000}") int writeBatchSize,
+            @Value("${tank.game.statistics.rebuild-parallelism:0}") int parallelism,
+            @Value("${tank.game.statistics.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.gameStatisticsRepository = gameStatisticsRepository;
+        this.sessionArchive = sessionArchive;
+        this.globalStatsCache = globalStatsCache;
+        this.statisticsVersion = statisticsVersion;
+        this.statisticsWriteGate = statisticsWriteGate;
+        this.chunkSize = chunkSize;
+        this.writeBatchSize = writeBatchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (rebuildOnStartup) {
+            start();
+        }
+    }
+
+    // Runs a rebuild on its own thread; returns false if one is already running
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::runClaimed, "statistics-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    // Returns false if a rebuild is already running or this one failed
+    public boolean rebuild() {
+        return running.compareAndSet(false, true) && runClaimed();
+    }
+
+    private boolean runClaimed() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        statisticsWriteGate.close();
+        try {
+            long started = System.currentTimeMillis();
+            Map<Long, UserTotals> totals = aggregate(pool, started);
+            long aggregated = System.currentTimeMillis();
+
+            int[] written = write(totals);
+            gameStatisticsRepository.evictAllCachedStatistics();
+            globalStatsCache.refresh();
+            statisticsVersion.increment();
+
+            long finished = System.currentTimeMillis();
+            LOGGER.info(() -> String.format("Statistics rebuild: %d users (%d updated, %d inserted); aggregation %d ms, "
+                    + "write-back %d ms", totals.size(), written[0], written[1], aggregated - started, finished - aggregated));
+            return true;
+        } catch (Exception e) {
+            LOGGER.severe(() -> "Statistics rebuild failed: " + e.getMessage());
+            return false;
+        } finally {
+            statisticsWriteGate.open();
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private Map<Long, UserTotals> aggregate(ForkJoinPool pool, long started) {
+        Map<Long, UserTotals> totals = new HashMap<>();
+        ArrayDeque<ForkJoinTask<Map<Long, UserTotals>>> inFlight = new ArrayDeque<>();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM game_sessions", Long.class);
+        long upperBound = maxId != null ? maxId : 0;
+        long lastId = 0;
+        long sessions = 0;
+        long lastLog = started;
+
+        // Hot tier: keyset chunks read here, aggregated on the pool
+        while (lastId < upperBound) {
+            SessionChunk chunk = readChunk(lastId, upperBound);
+            if (chunk.lastId == lastId) {
+                break;
+            }
+            lastId = chunk.lastId;
+            if (chunk.size > 0) {
+                sessions += chunk.size;
+                submit(pool, inFlight, totals, chunk);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastLog >= PROGRESS_LOG_INTERVAL_MS) {
+                logProgress(sessions, started, now);
+                lastLog = now;
+            }
+        }
+
+        // Cold tier: archived sessions in the same chunk format
+        SessionChunk[] archived = {new SessionChunk(chunkSize)};
+        long[] archivedCount = {0};
+        sessionArchive.forEachSession(entry -> {
+            if (entry.getGameResult() == null) {
+                return;
+            }
+            archived[0].add(entry);
+            if (archived[0].size == chunkSize) {
+                archivedCount[0] += archived[0].size;
+                submit(pool, inFlight, totals, archived[0]);
+                archived[0] = new SessionChunk(chunkSize);
+            }
+        });
+        if (archived[0].size > 0) {
+            archivedCount[0] += archived[0].size;
+            submit(pool, inFlight, totals, archived[0]);
+        }
+
+        while (!inFlight.isEmpty()) {
+            mergeInto(totals, inFlight.poll().join());
+        }
+        logProgress(sessions + archivedCount[0], started, System.currentTimeMillis());
+        return totals;
+    }
+
+    // Bounded pipeline: at most MAX_CHUNKS_IN_FLIGHT chunks are held in memory at once
+    private void submit(ForkJoinPool pool, ArrayDeque<ForkJoinTask<Map<Long, UserTotals>>> inFlight,
+            Map<Long, UserTotals> totals, SessionChunk chunk) {
+        inFlight.add(pool.submit(new AggregateTask(chunk, 0, chunk.size)));
+        while (inFlight.size() >= MAX_CHUNKS_IN_FLIGHT) {
+            mergeInto(totals, inFlight.poll().join());
+        }
+    }
+
+    // lastId advances past every row read, including rows skipped for having no result
+    private SessionChunk readChunk(long afterId, long upperBound) {
+        SessionChunk chunk = new SessionChunk(chunkSize);
+        chunk.lastId = afterId;
+        jdbcTemplate.query(SELECT_CHUNK, rs -> {
+            String result = rs.getString(3);
+            chunk.lastId = rs.getLong(1);
+            if (result == null) {
+                return;
+            }
+            int row = chunk.size++;
+            chunk.userIds[row] = rs.getLong(2);
+            chunk.results[row] = (byte) GameSession.GameResult.valueOf(result).ordinal();
+            chunk.kills[row] = rs.getInt(4);
+            chunk.deaths[row] = rs.getInt(5);
+            chunk.scores[row] = rs.getInt(6);
+            chunk.durations[row] = rs.getInt(7);
+            chunk.shotsFired[row] = rs.getInt(8);
+            chunk.shotsHit[row] = rs.getInt(9);
+        }, afterId, upperBound, chunkSize);
+        return chunk;
+    }
+
+    private void logProgress(long sessions, long started, long now) {
+        long elapsed = Math.max(1, now - started);
+        LOGGER.info(() -> String.format("Statistics rebuild: %d sessions aggregated in %d ms (%d sessions/s)",
+                sessions, elapsed, sessions * 1000 / elapsed));
+    }
+
+    private static void mergeInto(Map<Long, UserTotals> target, Map<Long, UserTotals> partial) {
+        for (Map.Entry<Long, UserTotals> entry : partial.entrySet()) {
+            UserTotals existing = target.putIfAbsent(entry.getKey(), entry.getValue());
+            if (existing != null) {
+                existing.merge(entry.getValue());
+            }
+        }
+    }
+
+    // Updates existing rows in batches, then inserts the users that had none. Users whose
+    // statistics row exists but who have no sessions left are reset to zero.
+    private int[] write(Map<Long, UserTotals> totals) {
+        List<Long> existingUsers = jdbcTemplate.queryForList("SELECT user_id FROM game_statistics", Long.class);
+        for (Long userId : existingUsers) {
+            totals.putIfAbsent(userId, new UserTotals());
+        }
+        Set<Long> missing = new HashSet<>(totals.keySet());
+        existingUsers.forEach(missing::remove);
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> updates = new ArrayList<>(writeBatchSize);
+        int updated = 0;
+        for (Map.Entry<Long, UserTotals> entry : totals.entrySet()) {
+            if (missing.contains(entry.getKey())) {
+                continue;
+            }
+            updates.add(entry.getValue().toParameters(entry.getKey(), now, false));
+            if (updates.size() == writeBatchSize) {
+                updated += flush(UPDATE_STATISTICS, updates);
+            }
+        }
+        updated += flush(UPDATE_STATISTICS, updates);
+
+        List<Object[]> inserts = new ArrayList<>(writeBatchSize);
+        int inserted = 0;
+        for (Long userId : missing) {
+            inserts.add(totals.get(userId).toParameters(userId, now, true));
+            if (inserts.size() == writeBatchSize) {
+                inserted += flush(INSERT_STATISTICS, inserts);
+            }
+        }
+        inserted += flush(INSERT_STATISTICS, inserts);
+        return new int[]{updated, inserted};
+    }
+
+    private int flush(String sql, List<Object[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(sql, batch);
+        batch.clear();
+        return counts.length;
+    }
+
+    // Sessions of one keyset chunk, stored column-wise
+    private static final class SessionChunk {
+
+        private final long[] userIds;
+        private final byte[] results;
+        private final int[] kills;
+        private final int[] deaths;
+        private final int[] scores;
+        private final int[] durations;
+        private final int[] shotsFired;
+        private final int[] shotsHit;
+        private int size;
+        private long lastId;
+
+        private SessionChunk(int capacity) {
+            userIds = new long[capacity];
+            results = new byte[capacity];
+            kills = new int[capacity];
+            deaths = new int[capacity];
+            scores = new int[capacity];
+            durations = new int[capacity];
+            shotsFired = new int[capacity];
+            shotsHit = new int[capacity];
+        }
+
+        private void add(SessionHistoryEntryDTO entry) {
+            int row = size++;
+            userIds[row] = entry.getUserId();
+            results[row] = (byte) entry.getGameResult().ordinal();
+            kills[row] = entry.getKills();
+            deaths[row] = entry.getDeaths();
+            scores[row] = entry.getFinalScore();
+            durations[row] = entry.getDurationSeconds();
+            shotsFired[row] = entry.getShotsFired();
+            shotsHit[row] = entry.getShotsHit();
+        }
+    }
+
+    // Splits a chunk until ranges are small enough, aggregates each range into its own map
+    // and merges the maps on the way back up
+    private static final class AggregateTask extends RecursiveTask<Map<Long, UserTotals>> {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private static final int THRESHOLD = 2048;
+
+        // Tasks only run inside this job's pool and are never serialized
+        private final transient SessionChunk chunk;
+        private final int from;
+        private final int to;
+
+        private AggregateTask(SessionChunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Map<Long, UserTotals> compute() {
+            if (to - from <= THRESHOLD) {
+                Map<Long, UserTotals> totals = new HashMap<>();
+                for (int row = from; row < to; row++) {
+                    totals.computeIfAbsent(chunk.userIds[row], id -> new UserTotals()).add(chunk, row);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(chunk, from, middle);
+            left.fork();
+            Map<Long, UserTotals> right = new AggregateTask(chunk, middle, to).compute();
+            Map<Long, UserTotals> merged = left.join();
+            mergeInto(merged, right);
+            return merged;
+        }
+    }
+
+    // Same accumulation rules as GameStatistics.addGame plus the shot counters from endSession
+    private static final class UserTotals {
+
+        private static final int WIN = GameSession.GameResult.WIN.ordinal();
+        private static final int LOSS = GameSession.GameResult.LOSS.ordinal();
+        private static final int DRAW = GameSession.GameResult.DRAW.ordinal();
+
+        private long games;
+        private long wins;
+        private long losses;
+        private long draws;
+        private long kills;
+        private long deaths;
+        private long totalScore;
+        private int highestScore;
+        private long playtimeSeconds;
+        private long shotsFired;
+        private long shotsHit;
+
+        private void add(SessionChunk chunk, int row) {
+            games++;
+            int result = chunk.results[row];
+            if (result == WIN) {
+                wins++;
+            } else if (result == LOSS) {
+                losses++;
+            } else if (result == DRAW) {
+                draws++;
+            }
+            kills += chunk.kills[row];
+            deaths += chunk.deaths[row];
+            totalScore += chunk.scores[row];
+            highestScore = Math.max(highestScore, chunk.scores[row]);
+            playtimeSeconds += chunk.durations[row];
+            shotsFired += chunk.shotsFired[row];
+            shotsHit += chunk.shotsHit[row];
+        }
+
+        private void merge(UserTotals other) {
+            games += other.games;
+            wins += other.wins;
+            losses += other.losses;
+            draws += other.draws;
+            kills += other.kills;
+            deaths += other.deaths;
+            totalScore += other.totalScore;
+            highestScore = Math.max(highestScore, other.highestScore);
+            playtimeSeconds += other.playtimeSeconds;
+            shotsFired += other.shotsFired;
+            shotsHit += other.shotsHit;
+        }
+
+        private Object[] toParameters(long userId, Timestamp now, boolean insert) {
+            Object[] values = {games, wins, losses, draws, kills, deaths, totalScore, highestScore, playtimeSeconds,
+                shotsFired, shotsHit, now, userId};
+            if (!insert) {
+                return values;
+            }
+            Object[] withCreatedAt = Arrays.copyOf(values, values.length + 1);
+            withCreatedAt[values.length] = now;
+            return withCreatedAt;
+        }
+    }
+}
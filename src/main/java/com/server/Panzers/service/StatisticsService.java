@@ -3,90 +3,70 @@ package com.server.Panzers.service;
 import java.util.List;
 
 import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.server.Panzers.config.ReplicaRoutingDataSource;
 import com.server.Panzers.controller.LeaderboardController.GlobalStatsDTO;
+import com.server.Panzers.dto.LeaderboardEntryDTO;
 import com.server.Panzers.model.GameStatistics;
 import com.server.Panzers.model.User;
 import com.server.Panzers.repository.GameStatisticsRepository;
-import com.server.Panzers.repository.UserRepository;
 
 @Service
 public class StatisticsService {
 
     private final GameStatisticsRepository gameStatisticsRepository;
-    private final UserRepository userRepository;
     private final GameService gameService;
+    private final GlobalStatsCache globalStatsCache;
+    private final StatisticsVersion statisticsVersion;
 
-    public StatisticsService(GameStatisticsRepository gameStatisticsRepository, UserRepository userRepository, @Lazy GameService gameService) { // Добавьте @Lazy здесь
+    public StatisticsService(GameStatisticsRepository gameStatisticsRepository, @Lazy GameService gameService, // Добавьте @Lazy здесь
+            GlobalStatsCache globalStatsCache, StatisticsVersion statisticsVersion) {
         this.gameStatisticsRepository = gameStatisticsRepository;
-        this.userRepository = userRepository;
         this.gameService = gameService;
+        this.globalStatsCache = globalStatsCache;
+        this.statisticsVersion = statisticsVersion;
     }
 
-    public List<GameStatistics> getTopPlayersByScore() {
-        return gameStatisticsRepository.findTopPlayersByScore();
+    // Leaderboards are served under the statistics version, which moves when the primary
+    // commits, so they are read from the primary even when a replica is configured
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getTopPlayersByScore(Pageable pageable) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> gameStatisticsRepository.findScoreLeaderboard(pageable));
     }
 
-    public List<GameStatistics> getTopPlayersByWins() {
-        return gameStatisticsRepository.findTopPlayersByWins();
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getTopPlayersByWins(Pageable pageable) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> gameStatisticsRepository.findWinsLeaderboard(pageable));
     }
 
-    public List<GameStatistics> getTopPlayersByKDRatio() {
-        return gameStatisticsRepository.findTopPlayersByKDRatio();
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getTopPlayersByKDRatio(Pageable pageable) {
+        return ReplicaRoutingDataSource.readFromPrimary(() -> gameStatisticsRepository.findKDRatioLeaderboard(pageable));
     }
 
-    public List<GameStatistics> getTopPlayersByAccuracy() {
-        // Создаем кастомный запрос для сортировки по точности
-        return gameStatisticsRepository.findAll().stream()
-                .filter(gs -> gs.getShotsFired() > 0) // Только игроки, которые стреляли
-                .sorted((a, b) -> Double.compare(b.getAccuracy(), a.getAccuracy()))
-                .limit(50) // Топ 50
-                .toList();
+    @Transactional(readOnly = true)
+    public List<LeaderboardEntryDTO> getTopPlayersByAccuracy(Pageable pageable) {
+        // Только игроки, которые стреляли; сортировка по точности выполняется в БД
+        return ReplicaRoutingDataSource.readFromPrimary(() -> gameStatisticsRepository.findAccuracyLeaderboard(pageable));
     }
 
     public GlobalStatsDTO getGlobalStats() {
-        long totalPlayers = userRepository.count();
-        long totalGames = gameStatisticsRepository.count();
-        Double avgScore = gameStatisticsRepository.getAverageScore();
-        long onlinePlayers = gameService.getOnlinePlayersCount();
-
-        return new GlobalStatsDTO(
-                totalPlayers,
-                totalGames,
-                avgScore != null ? avgScore : 0.0,
-                onlinePlayers
-        );
-    }
-
-    public GameStatistics getOrCreateUserStatistics(Long userId) {
-        return gameStatisticsRepository.findByUserId(userId)
-                .orElseGet(() -> {
-                    User user = userRepository.findById(userId).orElse(null);
-                    if (user != null) {
-                        GameStatistics newStats = new GameStatistics(user);
-                        return gameStatisticsRepository.save(newStats);
-                    }
-                    return null;
-                });
+        // Aggregates come from memory, only the online count is live
+        return globalStatsCache.snapshot(gameService.getOnlinePlayersCount());
     }
 
-    public GameStatistics saveStatistics(GameStatistics statistics) {
-        return gameStatisticsRepository.save(statistics);
+    public GameStatistics createInitialStatistics(User user) {
+        GameStatistics saved = gameStatisticsRepository.save(new GameStatistics(user));
+        globalStatsCache.onUserRegistered();
+        globalStatsCache.onStatisticsCreated();
+        statisticsVersion.increment();
+        return saved;
     }
 
-    public void updateRealTimeStats(Long userId, Integer currentScore, Integer kills, Integer deaths) {
-        try {
-            GameStatistics stats = getOrCreateUserStatistics(userId);
-            if (stats != null) {
-                // Update current session high score if needed
-                if (currentScore != null && currentScore > stats.getHighestScore()) {
-                    stats.setHighestScore(currentScore);
-                    saveStatistics(stats);
-                }
-            }
-        } catch (Exception e) {
-            System.err.println("Error updating real-time stats: " + e.getMessage());
-        }
+    public long getStatisticsVersion() {
+        return statisticsVersion.current();
     }
 }
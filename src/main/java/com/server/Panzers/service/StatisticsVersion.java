@@ -0,0 +1,22 @@
+package com.server.Panzers.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+// Change counter for the persisted statistics (leaderboards and global aggregates).
+// Bumped on every write so HTTP readers can answer conditional requests without a query.
+@Component
+public class StatisticsVersion {
+
+    // Seeded with the start time so ETags issued before a restart are never matched again
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    public void increment() {
+        version.incrementAndGet();
+    }
+}
@@ -0,0 +1,37 @@
+package com.server.Panzers.service;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.stereotype.Component;
+
+// Keeps the jobs that change game_sessions or add to game_statistics out of a statistics
+// rebuild. The rebuild overwrites every row with totals from a scan that started earlier, so
+// anything written meanwhile would be lost or counted twice. Writers never wait: while the
+// gate is closed they leave their work for a later run.
+@Component
+public class StatisticsWriteGate {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Returns false while a rebuild holds the gate; a true return must be paired with exit()
+    public boolean tryEnter() {
+        return lock.readLock().tryLock();
+    }
+
+    public void exit() {
+        lock.readLock().unlock();
+    }
+
+    // Waits for writes in progress to finish; open() must be called on the same thread
+    public void close() {
+        lock.writeLock().lock();
+    }
+
+    public void open() {
+        lock.writeLock().unlock();
+    }
+
+    public boolean isClosed() {
+        return lock.isWriteLocked();
+    }
+}
@@ -0,0 +1,52 @@
+-- Baseline: the schema as ddl-auto=update created it before migrations were introduced.
+-- Databases created that way are baselined at this version and start with V2.
+
+CREATE TABLE users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(50) NOT NULL,
+    email VARCHAR(255),
+    password_hash VARCHAR(255) NOT NULL,
+    created_at DATETIME(6),
+    last_login DATETIME(6),
+    is_active BIT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE game_statistics (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    total_games INTEGER,
+    wins INTEGER,
+    losses INTEGER,
+    draws INTEGER,
+    kills INTEGER,
+    deaths INTEGER,
+    total_score BIGINT,
+    highest_score INTEGER,
+    total_playtime_seconds BIGINT,
+    shots_fired INTEGER,
+    shots_hit INTEGER,
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_game_statistics_user UNIQUE (user_id),
+    CONSTRAINT fk_game_statistics_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE game_sessions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    session_start DATETIME(6),
+    session_end DATETIME(6),
+    final_score INTEGER,
+    kills_in_session INTEGER,
+    deaths_in_session INTEGER,
+    shots_fired INTEGER,
+    shots_hit INTEGER,
+    game_result ENUM('DISCONNECT', 'DRAW', 'LOSS', 'WIN'),
+    duration_seconds INTEGER,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_game_sessions_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
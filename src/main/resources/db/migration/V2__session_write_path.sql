@@ -0,0 +1,36 @@
+-- Columns and tables added with the session write path, rollups and replica routing, on top
+-- of the baseline. Sessions that ended before this migration had their statistics applied
+-- when they ended, so they are marked stats_applied; rollups pick them up as not rolled up.
+
+ALTER TABLE game_sessions ADD COLUMN session_key VARCHAR(36);
+ALTER TABLE game_sessions ADD COLUMN rolled_up BIT NOT NULL DEFAULT FALSE;
+ALTER TABLE game_sessions ADD COLUMN stats_applied BIT NOT NULL DEFAULT FALSE;
+ALTER TABLE game_sessions ADD CONSTRAINT uk_game_sessions_session_key UNIQUE (session_key);
+
+UPDATE game_sessions SET stats_applied = TRUE WHERE session_end IS NOT NULL;
+
+CREATE INDEX idx_game_sessions_open ON game_sessions (session_end, session_start);
+CREATE INDEX idx_game_sessions_rollup ON game_sessions (rolled_up, session_end);
+
+CREATE TABLE session_rollups (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    granularity ENUM('DAILY', 'HOURLY') NOT NULL,
+    bucket_start DATETIME(6) NOT NULL,
+    games BIGINT,
+    wins BIGINT,
+    losses BIGINT,
+    draws BIGINT,
+    disconnects BIGINT,
+    kills BIGINT,
+    deaths BIGINT,
+    total_score BIGINT,
+    total_duration_seconds BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_session_rollups_bucket UNIQUE (granularity, bucket_start)
+);
+
+CREATE TABLE replica_heartbeat (
+    id INTEGER NOT NULL,
+    beat_at BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
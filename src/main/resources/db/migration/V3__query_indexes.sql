@@ -0,0 +1,26 @@
+-- Indexes for the repository queries. Each one names the queries it serves; the unique
+-- constraints from V1 and V2 already cover lookups by username, email, user_id (statistics),
+-- session_key and (granularity, bucket_start).
+
+-- Player history pages (user_id = ? ORDER BY session_start DESC, id DESC), history counts
+-- and per-user exports; also serves the user_id foreign key
+CREATE INDEX idx_game_sessions_user_start ON game_sessions (user_id, session_start, id);
+
+-- Best sessions of a player (user_id = ? ORDER BY final_score DESC)
+CREATE INDEX idx_game_sessions_user_score ON game_sessions (user_id, final_score);
+
+-- Games started since a date, overall and per result
+CREATE INDEX idx_game_sessions_result_start ON game_sessions (game_result, session_start);
+CREATE INDEX idx_game_sessions_start ON game_sessions (session_start);
+
+-- Score and wins leaderboards read the first page straight off the index
+-- (ORDER BY total_score DESC, id / wins DESC, id LIMIT n)
+CREATE INDEX idx_game_statistics_score ON game_statistics (total_score DESC, id);
+CREATE INDEX idx_game_statistics_wins ON game_statistics (wins DESC, id);
+
+-- Players with at least one game (global stats, active player counts), covering the score sum
+CREATE INDEX idx_game_statistics_games ON game_statistics (total_games, total_score);
+
+-- Recently active and newly registered users
+CREATE INDEX idx_users_last_login ON users (last_login);
+CREATE INDEX idx_users_created_at ON users (created_at);
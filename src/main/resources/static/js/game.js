@@ -7,9 +7,14 @@ class TankGame {
         this.sessionId = null;
         this.playerTank = null;
         this.gameState = null;
+        this.roster = {}; // номер танка -> { playerId, playerName, color }
+        this.hud = null; // личные здоровье, патроны и счёт, приходят только при изменении
+        this.bullets = new Map(); // номер пули -> полёт, который клиент просчитывает сам
         this.keyStates = {};
         this.lastMoveTime = 0;
         this.lastShootTime = 0;
+        this.inputSequence = 0; // номер компактного кадра ввода, сервер отбрасывает устаревшие
+        this.resumeToken = null; // возвращает танк после переподключения, пока не истёк срок ожидания
         this.gameStartTime = Date.now();
         this.movementInterval = null;
         this.isPaused = false;
@@ -19,6 +24,10 @@ class TankGame {
         this.CANVAS_HEIGHT = 600;
         this.TANK_SIZE = 30;
         this.BULLET_SIZE = 5;
+        this.BULLET_SPEED = 5; // пикселей за такт сервера (Bullet.DEFAULT_SPEED)
+        this.BULLET_MAX_DISTANCE = 800;
+        this.BULLET_MAX_LIFETIME = 5000;
+        this.SERVER_TICK_MS = 16;
         this.MOVE_THRESHOLD = 16; // ~60 FPS movement updates
         this.SHOOT_COOLDOWN = 500; // 500ms between shots
         
@@ -65,10 +74,12 @@ class TankGame {
     connectWebSocket() {
         console.log('Connecting to WebSocket...');
         
-        // Используем StompJs (новая версия библиотеки)
-        const socket = new SockJS('/ws');
+        // Используем StompJs (новая версия библиотеки). Нативный WebSocket: кадр состояния
+        // сервер кодирует один раз для всех, а SockJS перекодирует его для каждой сессии.
+        // Фабрика вызывается при каждом переподключении и открывает новый сокет.
+        const nativeUrl = (location.protocol === 'https:' ? 'wss://' : 'ws://') + location.host + '/ws-native';
         this.stompClient = new StompJs.Client({
-            webSocketFactory: () => socket,
+            webSocketFactory: () => typeof WebSocket !== 'undefined' ? new WebSocket(nativeUrl) : new SockJS('/ws'),
             connectHeaders: {},
             debug: (str) => {
                 console.log('STOMP: ' + str);
@@ -109,14 +120,59 @@ class TankGame {
         console.log('WebSocket connected successfully');
         this.updateConnectionStatus('connected', 'Connected');
         
+        // После перезагрузки страницы пробуем вернуться к прежнему танку
+        if (!this.sessionId) {
+            const saved = JSON.parse(sessionStorage.getItem('panzers.resume') || 'null');
+            if (saved) {
+                this.sessionId = saved.playerId;
+                this.resumeToken = saved.resumeToken;
+            }
+        }
+        
         // Получаем session ID (для упрощения используем временную метку)
         if (!this.sessionId) {
             this.sessionId = 'player_' + Date.now() + '_' + Math.random().toString(36).substr(2, 9);
         }
         
-        // Подписываемся на игровые события
-        this.stompClient.subscribe('/topic/gamestate', (message) => {
-            this.handleGameStateUpdate(JSON.parse(message.body));
+        // Ответ на вход или возвращение: токен для следующего переподключения
+        this.stompClient.subscribe('/user/queue/session', (message) => {
+            this.handlePlayerSession(JSON.parse(message.body));
+        });
+        
+        // Состав игроков (имя, цвет) приходит при подписке и при входе/выходе игроков,
+        // в каждом кадре танки указаны только номером
+        this.stompClient.subscribe('/app/game/roster', (message) => {
+            this.handleRoster(JSON.parse(message.body));
+        });
+        this.stompClient.subscribe('/topic/roster', (message) => {
+            this.handleRoster(JSON.parse(message.body));
+        });
+
+        // Подписываемся на игровые события по компактной схеме v2
+        // (общий id подписки: сервер кодирует кадр один раз для всех)
+        this.stompClient.subscribe('/topic/gamestate.v2', (message) => {
+            this.handleGameStateV2(JSON.parse(message.body));
+        }, { id: 'gamestate.v2' });
+        
+        // Пули: сервер присылает только появление, попадание и исчезновение, полёт считаем сами
+        this.stompClient.subscribe('/app/game/bullets', (message) => {
+            this.handleBulletEvents(JSON.parse(message.body));
+        });
+        this.stompClient.subscribe('/topic/bullets', (message) => {
+            this.handleBulletEvents(JSON.parse(message.body));
+        });
+        
+        // Срочные события (гибель танков) приходят сразу, новое состояние - в следующем кадре
+        this.stompClient.subscribe('/topic/events', (message) => {
+            this.handleGameEvent(JSON.parse(message.body));
+        });
+        
+        // Личный HUD и таблица лидеров приходят отдельно от кадров мира и только при изменениях
+        this.stompClient.subscribe('/user/queue/hud', (message) => {
+            this.handleHud(JSON.parse(message.body));
+        });
+        this.stompClient.subscribe('/topic/scoreboard', (message) => {
+            this.renderLeaderboard(JSON.parse(message.body));
         });
         
         // Подписываемся на уведомления о достижениях
@@ -129,8 +185,35 @@ class TankGame {
             this.handlePersonalAchievement(JSON.parse(message.body));
         });
         
-        // Присоединяемся к игре
-        this.joinGame();
+        // Возвращаемся к своему танку, если сервер ещё держит его, иначе присоединяемся заново
+        if (this.resumeToken) {
+            this.stompClient.publish({
+                destination: '/app/game/resume',
+                body: JSON.stringify({ resumeToken: this.resumeToken })
+            });
+        } else {
+            this.joinGame();
+        }
+    }
+
+    handlePlayerSession(session) {
+        if (session.type === 'RESUME_REJECTED') {
+            console.log('Resume rejected, joining as a new player');
+            this.resumeToken = null;
+            sessionStorage.removeItem('panzers.resume');
+            this.sessionId = 'player_' + Date.now() + '_' + Math.random().toString(36).substr(2, 9);
+            this.joinGame();
+            return;
+        }
+        this.sessionId = session.playerId;
+        this.resumeToken = session.resumeToken;
+        sessionStorage.setItem('panzers.resume', JSON.stringify({
+            playerId: session.playerId,
+            resumeToken: session.resumeToken
+        }));
+        if (session.type === 'RESUMED') {
+            console.log('Resumed as ' + session.playerId);
+        }
     }
 
     joinGame() {
@@ -168,6 +251,26 @@ class TankGame {
         }
     }
 
+    // Компактный кадр ввода для /app/game/input: буква типа и целые числа через пробел
+    // (M - движение, S - стоп, F - выстрел, R - перезарядка), см. InputFrameParser на сервере
+    sendInput(type, x, y, angle, direction, isMoving) {
+        if (!this.stompClient || !this.stompClient.connected) {
+            return;
+        }
+        
+        let body = type + ' ' + (++this.inputSequence);
+        if (type === 'M') {
+            const directionIndex = ['UP', 'DOWN', 'LEFT', 'RIGHT'].indexOf(direction);
+            const flags = (Math.max(0, directionIndex) << 1) | (isMoving ? 1 : 0);
+            body += ' ' + Math.round(x) + ' ' + Math.round(y) + ' ' + Math.round(angle * 1000) + ' ' + flags;
+        }
+        try {
+            this.stompClient.publish({ destination: '/app/game/input', body: body });
+        } catch (error) {
+            console.error('Error sending input:', error);
+        }
+    }
+
     updateConnectionStatus(status, text) {
         const indicator = document.getElementById('statusIndicator');
         const statusText = document.getElementById('statusText');
@@ -400,24 +503,13 @@ class TankGame {
             this.playerTank.direction = this.angleToDirection(this.localTank.angle);
             this.playerTank.isMoving = this.localTank.isMoving;
             
-            // Send movement to server
-            this.sendPlayerAction('PLAYER_MOVE', {
-                x: this.localTank.x,
-                y: this.localTank.y,
-                direction: this.angleToDirection(this.localTank.angle),
-                isMoving: this.localTank.isMoving,
-                angle: this.localTank.angle // Send angle for better synchronization
-            });
+            // Send movement to server (angle for better synchronization)
+            this.sendInput('M', this.localTank.x, this.localTank.y, this.localTank.angle,
+                    this.angleToDirection(this.localTank.angle), this.localTank.isMoving);
         } else if (this.playerTank.isMoving) {
             // Send stop signal
             this.playerTank.isMoving = false;
-            this.sendPlayerAction('PLAYER_STOP', {
-                x: this.localTank.x,
-                y: this.localTank.y,
-                direction: this.angleToDirection(this.localTank.angle),
-                isMoving: false,
-                angle: this.localTank.angle
-            });
+            this.sendInput('S');
         }
     }
 
@@ -444,7 +536,7 @@ class TankGame {
         }
         
         this.lastShootTime = now;
-        this.sendPlayerAction('PLAYER_SHOOT', {});
+        this.sendInput('F');
         
         // Visual feedback
         this.showShootEffect();
@@ -453,7 +545,7 @@ class TankGame {
     requestReload() {
         if (!this.stompClient) return;
         
-        this.sendPlayerAction('PLAYER_RELOAD', {});
+        this.sendInput('R');
         this.showMessage("Reloading...", 1500);
     }
 
@@ -578,6 +670,102 @@ class TankGame {
         }, 7000);
     }
 
+    handleRoster(entries) {
+        const roster = {};
+        entries.forEach(entry => {
+            roster[entry.number] = entry;
+        });
+        this.roster = roster;
+    }
+
+    // Разворачивает кадр схемы v2 в прежний формат состояния игры
+    handleGameStateV2(frame) {
+        const directions = ['UP', 'DOWN', 'LEFT', 'RIGHT'];
+        const tanks = [];
+        frame.k.forEach(t => {
+            const entry = this.roster[t.n];
+            if (!entry) return; // Состав ещё не пришёл
+            tanks.push({
+                playerId: entry.playerId,
+                playerName: entry.playerName,
+                color: entry.color,
+                x: t.x,
+                y: t.y,
+                direction: directions[t.d],
+                health: t.h,
+                ammunition: entry.playerId === this.sessionId && this.hud ? this.hud.ammunition : undefined,
+                isAlive: t.h > 0
+            });
+        });
+        this.handleGameStateUpdate({
+            timestamp: frame.t,
+            tanks: tanks,
+            gameInfo: { activePlayers: frame.p }
+        });
+    }
+
+    handleBulletEvents(events) {
+        const now = performance.now();
+        events.spawned.forEach(([id, x, y, direction, spawnTick]) => {
+            // Пуля уже пролетела (events.tick - spawnTick) тактов к моменту отправки
+            this.bullets.set(id, {
+                x0: x,
+                y0: y,
+                direction: direction,
+                startedAt: now - (events.tick - spawnTick) * this.SERVER_TICK_MS
+            });
+        });
+        events.hits.forEach(([id]) => this.bullets.delete(id));
+        events.destroyed.forEach(id => this.bullets.delete(id));
+    }
+
+    // Порядок направлений как в Tank.Direction: UP, DOWN, LEFT, RIGHT
+    simulatedBulletPosition(bullet, now) {
+        const distance = (now - bullet.startedAt) / this.SERVER_TICK_MS * this.BULLET_SPEED;
+        const dx = [0, 0, -1, 1][bullet.direction];
+        const dy = [-1, 1, 0, 0][bullet.direction];
+        return { x: bullet.x0 + dx * distance, y: bullet.y0 + dy * distance, distance: distance };
+    }
+
+    handleGameEvent(event) {
+        if (event.type !== 'DEATH') return;
+        
+        const victim = this.roster[event.tank];
+        const killer = event.killer != null ? this.roster[event.killer] : null;
+        const seconds = Math.round(event.respawnMillis / 1000);
+        if (victim && victim.playerId === this.sessionId) {
+            this.showMessage(`You were destroyed${killer ? ' by ' + killer.playerName : ''}! Respawning in ${seconds}s`, event.respawnMillis);
+        } else if (victim) {
+            this.showMessage(`${victim.playerName} destroyed${killer ? ' by ' + killer.playerName : ''}`, 2000);
+        }
+    }
+
+    handleHud(hud) {
+        this.hud = hud;
+        if (this.playerTank) {
+            this.playerTank.health = hud.health;
+            this.playerTank.ammunition = hud.ammunition;
+            this.playerTank.isAlive = hud.alive;
+        }
+        this.updateUI();
+    }
+
+    renderLeaderboard(entries) {
+        const list = document.getElementById('leaderboardList');
+        if (!list) return;
+        
+        list.innerHTML = '';
+        entries.forEach((entry, index) => {
+            const row = document.createElement('div');
+            row.className = 'leaderboard-row';
+            row.textContent = `${index + 1}. ${entry.playerName || entry.playerId} — ${entry.score} (${entry.kills}/${entry.deaths})`;
+            if (entry.playerId === this.sessionId) {
+                row.style.color = '#00ff88';
+            }
+            list.appendChild(row);
+        });
+    }
+
     handleGameStateUpdate(gameState) {
         console.log('Game state updated:', gameState);
         this.gameState = gameState;
@@ -652,8 +840,10 @@ class TankGame {
             if (healthBar) healthBar.style.width = ((this.playerTank.health || 100) / 100 * 100) + '%';
             if (ammoText) ammoText.textContent = this.playerTank.ammunition || 30;
             
-            // Обновляем счет из gameState
-            if (this.gameState && this.gameState.scores && scoreText) {
+            // Счёт берём из личного HUD, в старой схеме - из gameState
+            if (this.hud && scoreText) {
+                scoreText.textContent = this.hud.score;
+            } else if (this.gameState && this.gameState.scores && scoreText) {
                 scoreText.textContent = this.gameState.scores[this.sessionId] || 0;
             }
         }
@@ -713,12 +903,26 @@ class TankGame {
     }
 
     drawBullets() {
-        // Draw bullets from game state
+        // Draw bullets from game state (old schema)
         if (this.gameState && this.gameState.bullets) {
             this.gameState.bullets.forEach(bullet => {
                 this.drawBullet(bullet);
             });
         }
+        
+        // Simulated bullets; the server's events remove them, range and lifetime checks are a fallback
+        const now = performance.now();
+        this.bullets.forEach((bullet, id) => {
+            const position = this.simulatedBulletPosition(bullet, now);
+            if (position.distance > this.BULLET_MAX_DISTANCE
+                    || now - bullet.startedAt > this.BULLET_MAX_LIFETIME
+                    || position.x < 0 || position.x > this.CANVAS_WIDTH
+                    || position.y < 0 || position.y > this.CANVAS_HEIGHT) {
+                this.bullets.delete(id);
+                return;
+            }
+            this.drawBullet(position);
+        });
     }
 
     drawTank(tank) {
@@ -120,7 +120,7 @@ class LeaderboardManager {
     }
     
     getStatsForType(player, type) {
-        const stats = player.gameStatistics || {};
+        const stats = player; // Rows are flat leaderboard entries
         
         switch (type) {
             case 'score':
@@ -0,0 +1,109 @@
+package com.server.Panzers.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+
+import com.server.Panzers.service.GameStateBroadcaster;
+
+// The limiter runs on a simulated clock: each test plays seconds of traffic in microseconds
+class InboundRateLimiterTests {
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(16);
+
+    private GameStateBroadcaster broadcaster;
+    private InboundRateLimiter limiter;
+
+    @BeforeEach
+    void createLimiter() {
+        broadcaster = mock(GameStateBroadcaster.class);
+        // The shipped defaults
+        limiter = new InboundRateLimiter(broadcaster, 90, 30, 10, 5, 20, 20, 300, 10_000);
+    }
+
+    @Test
+    void legacyJsonMoverAt60HzIsNeverLimited() {
+        long now = 0;
+        for (int frame = 0; frame < 60 * 120; frame++) { // Two minutes at 60 Hz
+            now += TICK_NANOS;
+            String type = frame % 60 == 59 ? "PLAYER_STOP" : "PLAYER_MOVE";
+            assertNotNull(limiter.check(action(type), now), "move " + frame + " dropped");
+            if (frame % 10 == 0) { // Six shots a second
+                assertNotNull(limiter.check(action("PLAYER_SHOOT"), now), "shot " + frame + " dropped");
+            }
+        }
+        assertEquals(0, limiter.getDroppedMoves() + limiter.getDroppedShots() + limiter.getDroppedOther());
+        verify(broadcaster, never()).closeSession(any(), any());
+    }
+
+    @Test
+    void jsonShotsUseTheFireBucket() {
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.check(action("PLAYER_SHOOT"), 0));
+        }
+        assertNull(limiter.check(action("PLAYER_SHOOT"), 0));
+        assertEquals(1, limiter.getDroppedShots());
+        // Moves have their own bucket
+        assertNotNull(limiter.check(action("PLAYER_MOVE"), 0));
+    }
+
+    @Test
+    void compactFramesAreClassifiedByTypeLetter() {
+        for (int i = 0; i < 30; i++) {
+            assertNotNull(limiter.check(message("/app/game/input", "M " + i + " 10 10 0 1"), 0));
+        }
+        assertNull(limiter.check(message("/app/game/input", "S 31"), 0));
+        assertNotNull(limiter.check(message("/app/game/input", "F 32"), 0));
+        assertEquals(1, limiter.getDroppedMoves());
+        assertEquals(0, limiter.getDroppedShots());
+    }
+
+    @Test
+    void typeInsideAStringValueIsNotTheActionType() {
+        String json = "{\"data\":{\"playerName\":\"\\\"type\\\":\\\"PLAYER_MOVE\\\"\"},\"type\":\"PLAYER_SHOOT\"}";
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(limiter.check(message("/app/game/action", json), 0));
+        }
+        assertNull(limiter.check(message("/app/game/action", json), 0));
+        assertEquals(1, limiter.getDroppedShots());
+    }
+
+    @Test
+    void floodingClientIsDisconnected() {
+        long now = 0;
+        for (int i = 0; i < 1000; i++) {
+            now += TimeUnit.MILLISECONDS.toNanos(1);
+            limiter.check(action("PLAYER_MOVE"), now);
+        }
+        assertEquals(1, limiter.getDisconnected());
+        verify(broadcaster).closeSession(eq("session-1"), eq(CloseStatus.POLICY_VIOLATION));
+    }
+
+    private static Message<byte[]> action(String type) {
+        return message("/app/game/action", "{\"type\":\"" + type + "\",\"playerId\":\"p1\","
+                + "\"data\":{\"x\":100.0,\"y\":100.0,\"direction\":\"UP\",\"isMoving\":true}}");
+    }
+
+    private static Message<byte[]> message(String destination, String body) {
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setSessionId("session-1");
+        headers.setDestination(destination);
+        return MessageBuilder.createMessage(body.getBytes(StandardCharsets.UTF_8), headers.getMessageHeaders());
+    }
+}
@@ -0,0 +1,118 @@
+package com.server.Panzers.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Two in-memory H2 databases stand in for the MySQL primary and replica. Nothing replicates
+// between them, so the tests play the replication stream by writing the replica's heartbeat row.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "tank.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "tank.datasource.replica.max-lag-ms=5000",
+    "tank.datasource.replica.lag-check-interval=3600000"
+})
+@ActiveProfiles("dev")
+class ReplicaRoutingDataSourceTests {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void resetReplica() {
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT)");
+        replica.update("DELETE FROM replica_heartbeat");
+    }
+
+    @Test
+    void readOnlyTransactionsUseCaughtUpReplica() {
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        assertEquals("routing_replica", currentDatabase(true));
+        assertEquals("routing_primary", currentDatabase(false));
+    }
+
+    @Test
+    void versionedReadsUsePrimaryEvenWhenReplicaIsCaughtUp() {
+        replicateHeartbeat(System.currentTimeMillis());
+        replicaLagMonitor.check();
+
+        assertTrue(replicaLagMonitor.isReplicaUsable());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        assertEquals("routing_primary", transaction.execute(status ->
+                ReplicaRoutingDataSource.readFromPrimary(() -> queryDatabase())));
+        assertEquals("routing_primary", ReplicaRoutingDataSource.readFromPrimary(() -> currentDatabase(true)));
+        // Only for the duration of the call
+        assertEquals("routing_replica", currentDatabase(true));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLags() {
+        replicateHeartbeat(System.currentTimeMillis() - 60_000);
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertTrue(replicaLagMonitor.getLastLagMillis() >= 60_000);
+        assertEquals("routing_primary", currentDatabase(true));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWithoutHeartbeat() {
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.isReplicaUsable());
+        assertEquals("routing_primary", currentDatabase(true));
+    }
+
+    @Test
+    void heartbeatIsWrittenToPrimary() {
+        long before = System.currentTimeMillis();
+        replicaLagMonitor.check();
+
+        Long beatAt = new JdbcTemplate(dataSource).queryForObject(
+                "SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+        assertTrue(beatAt != null && beatAt >= before);
+    }
+
+    private void replicateHeartbeat(long beatAt) {
+        replica.update("INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)", beatAt);
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> queryDatabase());
+    }
+
+    private String queryDatabase() {
+        return new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class);
+    }
+}
@@ -0,0 +1,70 @@
+package com.server.Panzers.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import com.server.Panzers.model.GameSession;
+import com.server.Panzers.model.User;
+
+// Spill file lines: every field survives toLine/fromLine, and damaged lines are refused
+class SessionSnapshotTests {
+
+    @Test
+    void liveSessionRoundTrips() {
+        GameSession session = session();
+        session.addKill();
+        session.addShot();
+        session.addShot();
+        session.addHit();
+
+        SessionSnapshot snapshot = SessionSnapshot.fromLine(SessionSnapshot.of(session).toLine());
+        assertEquals(session.getSessionKey(), snapshot.getSessionKey());
+        assertEquals(7L, snapshot.getUserId());
+        assertEquals(session.getSessionStart(), snapshot.getSessionStart());
+        assertNull(snapshot.getSessionEnd());
+        assertFalse(snapshot.isEnded());
+        assertEquals(100, snapshot.getFinalScore());
+        assertEquals(1, snapshot.getKillsInSession());
+        assertEquals(0, snapshot.getDeathsInSession());
+        assertEquals(2, snapshot.getShotsFired());
+        assertEquals(1, snapshot.getShotsHit());
+        assertEquals(GameSession.GameResult.DISCONNECT, snapshot.getGameResult());
+        assertEquals(0, snapshot.getDurationSeconds());
+    }
+
+    @Test
+    void endedSessionRoundTrips() {
+        GameSession session = session();
+        session.addDeath();
+        session.endSession(GameSession.GameResult.LOSS);
+
+        SessionSnapshot snapshot = SessionSnapshot.fromLine(SessionSnapshot.of(session).toLine());
+        assertTrue(snapshot.isEnded());
+        assertEquals(session.getSessionEnd(), snapshot.getSessionEnd());
+        assertEquals(-50, snapshot.getFinalScore());
+        assertEquals(1, snapshot.getDeathsInSession());
+        assertEquals(GameSession.GameResult.LOSS, snapshot.getGameResult());
+        assertEquals(session.getDurationSeconds(), snapshot.getDurationSeconds());
+    }
+
+    @Test
+    void damagedLinesAreRefused() {
+        String line = SessionSnapshot.of(session()).toLine();
+
+        // Torn append: the line stops part way through
+        assertThrows(IllegalArgumentException.class, () -> SessionSnapshot.fromLine(line.substring(0, line.length() / 2)));
+        assertThrows(IllegalArgumentException.class, () -> SessionSnapshot.fromLine(line.replace("DISCONNECT", "???")));
+        assertThrows(IllegalArgumentException.class, () -> SessionSnapshot.fromLine(line.replaceFirst("\t7\t", "\tseven\t")));
+    }
+
+    private static GameSession session() {
+        User user = new User("player", "player@example.com", "hash");
+        user.setId(7L);
+        return new GameSession(user);
+    }
+}
@@ -0,0 +1,84 @@
+package com.server.Panzers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.server.Panzers.dto.LeaderboardEntryDTO;
+import com.server.Panzers.dto.SessionHistoryEntryDTO;
+import com.server.Panzers.model.GameSession;
+import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.GameStatisticsRepository;
+
+// Exact bytes of the export formats, with the repositories and the archive mocked
+class ExportServiceTests {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS).build();
+    private final GameSessionRepository gameSessionRepository = mock(GameSessionRepository.class);
+    private final GameStatisticsRepository gameStatisticsRepository = mock(GameStatisticsRepository.class);
+    private final SessionArchive sessionArchive = mock(SessionArchive.class);
+    private final ExportService exportService = new ExportService(gameSessionRepository, gameStatisticsRepository,
+            sessionArchive, objectMapper);
+
+    @Test
+    void ndjsonRowsAreSeparatedByNewlinesOnly() throws IOException {
+        List<LeaderboardEntryDTO> rows = List.of(
+                new LeaderboardEntryDTO("alice", 3, 2, 1, 0, 5, 2, 300L, 150, 10, 6),
+                new LeaderboardEntryDTO("bob", 1, 0, 1, 0, 0, 1, -50L, 0, 4, 0),
+                new LeaderboardEntryDTO("carol", 2, 1, 0, 1, 2, 2, 120L, 100, 0, 0));
+        when(gameStatisticsRepository.streamAllEntries()).thenReturn(rows.stream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportStatistics(null, ExportService.Format.NDJSON, out);
+
+        StringBuilder expected = new StringBuilder();
+        for (LeaderboardEntryDTO row : rows) {
+            expected.append(objectMapper.writeValueAsString(row)).append('\n');
+        }
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void ndjsonSessionsIncludeTheArchiveAfterTheDatabaseRows() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2026, 1, 2, 3, 4, 5);
+        SessionHistoryEntryDTO hot = new SessionHistoryEntryDTO(2L, 7L, start, start.plusMinutes(5), 100, 1, 0, 3, 1,
+                GameSession.GameResult.WIN, 300);
+        SessionHistoryEntryDTO archived = new SessionHistoryEntryDTO(1L, 7L, start.minusDays(90), null, 0, 0, 0, 0, 0,
+                GameSession.GameResult.DISCONNECT, 0, true);
+        when(gameSessionRepository.streamHistoryByUserId(7L)).thenReturn(Stream.of(hot));
+        when(sessionArchive.findUserSessions(7L, 0, 1000)).thenReturn(List.of(archived));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportSessions(7L, ExportService.Format.NDJSON, out);
+
+        assertEquals(objectMapper.writeValueAsString(hot) + "\n" + objectMapper.writeValueAsString(archived) + "\n",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void csvQuotesOnlyValuesThatNeedIt() throws IOException {
+        when(gameStatisticsRepository.streamEntriesByUserId(7L)).thenReturn(Stream.of(
+                new LeaderboardEntryDTO("plain", 1, 1, 0, 0, 1, 0, 100L, 100, 2, 1),
+                new LeaderboardEntryDTO("a,\"b\"", 1, 0, 1, 0, 0, 1, -50L, 0, 0, 0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportStatistics(7L, ExportService.Format.CSV, out);
+
+        assertEquals("username,totalGames,wins,losses,draws,kills,deaths,totalScore,highestScore,shotsFired,shotsHit\n"
+                + "plain,1,1,0,0,1,0,100,100,2,1\n"
+                + "\"a,\"\"b\"\"\",1,0,1,0,0,1,-50,0,0,0\n", out.toString(StandardCharsets.UTF_8));
+    }
+}
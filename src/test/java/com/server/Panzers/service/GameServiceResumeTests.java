@@ -0,0 +1,141 @@
+package com.server.Panzers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.web.socket.CloseStatus;
+
+import com.server.Panzers.dto.PlayerActionDTO;
+import com.server.Panzers.dto.PlayerSessionDTO;
+import com.server.Panzers.model.game.Tank;
+
+// Resume tokens and the grace period, against a GameService whose collaborators are mocks.
+// Replies to /user/queue/session are read back from the messaging template.
+class GameServiceResumeTests {
+
+    private final SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+    private final GameStateBroadcaster broadcaster = mock(GameStateBroadcaster.class);
+
+    @Test
+    void resumeReattachesTheSameTankAndRotatesTheToken() {
+        GameService game = gameService(30_000);
+        String token = join(game, "p1", "s1");
+        Tank tank = game.getActiveTanks().get("p1");
+
+        assertEquals("p1", game.handleDisconnect("s1"));
+        assertEquals(1, game.getDetachedCount());
+
+        game.resumePlayer(token, "s2", null);
+        PlayerSessionDTO reply = lastReply("s2");
+        assertEquals(PlayerSessionDTO.RESUMED, reply.getType());
+        assertEquals("p1", reply.getPlayerId());
+        assertNotEquals(token, reply.getResumeToken());
+        assertSame(tank, game.getActiveTanks().get("p1"));
+        assertEquals(0, game.getDetachedCount());
+
+        // The old token was replaced
+        game.resumePlayer(token, "s3", null);
+        assertEquals(PlayerSessionDTO.RESUME_REJECTED, lastReply("s3").getType());
+
+        // The new connection is the player's: dropping it detaches the player again
+        assertEquals("p1", game.handleDisconnect("s2"));
+        assertEquals(1, game.getDetachedCount());
+    }
+
+    @Test
+    void unknownTokensAndOtherAccountsAreRejected() {
+        GameService game = gameService(30_000);
+        String token = join(game, "p1", "s1");
+        game.handleDisconnect("s1");
+
+        game.resumePlayer("not-a-token", "s2", null);
+        assertEquals(PlayerSessionDTO.RESUME_REJECTED, lastReply("s2").getType());
+        game.resumePlayer(null, "s3", null);
+        assertEquals(PlayerSessionDTO.RESUME_REJECTED, lastReply("s3").getType());
+        // An anonymous player cannot be taken over by a logged-in connection
+        game.resumePlayer(token, "s4", 42L);
+        assertEquals(PlayerSessionDTO.RESUME_REJECTED, lastReply("s4").getType());
+
+        assertEquals(3, game.getResumesRejected());
+        assertEquals(1, game.getDetachedCount());
+    }
+
+    @Test
+    void resumeTakesOverAConnectionStillAttached() {
+        GameService game = gameService(30_000);
+        String token = join(game, "p1", "s1");
+
+        game.resumePlayer(token, "s2", null);
+        assertEquals(PlayerSessionDTO.RESUMED, lastReply("s2").getType());
+        verify(broadcaster).closeSession(eq("s1"), any(CloseStatus.class));
+        // The old connection no longer owns the player when its close arrives
+        assertNull(game.handleDisconnect("s1"));
+        assertEquals(0, game.getDetachedCount());
+    }
+
+    @Test
+    void playerLeavesWhenTheGracePeriodEnds() throws InterruptedException {
+        GameService game = gameService(20);
+        String token = join(game, "p1", "s1");
+        game.handleDisconnect("s1");
+        Thread.sleep(40);
+
+        // Expired, even though the game loop has not removed the player yet
+        game.resumePlayer(token, "s2", null);
+        assertEquals(PlayerSessionDTO.RESUME_REJECTED, lastReply("s2").getType());
+
+        game.gameLoop();
+        assertNull(game.getActiveTanks().get("p1"));
+        assertEquals(1, game.getResumeGraceExpired());
+        assertEquals(0, game.getDetachedCount());
+    }
+
+    @Test
+    void withoutGracePeriodPlayersLeaveOnDisconnect() {
+        GameService game = gameService(0);
+        join(game, "p1", "s1");
+
+        assertEquals("p1", game.handleDisconnect("s1"));
+        assertNull(game.getActiveTanks().get("p1"));
+        assertEquals(0, game.getDetachedCount());
+    }
+
+    private GameService gameService(long resumeGraceMillis) {
+        return new GameService(messagingTemplate, mock(StatisticsService.class), mock(GameSessionService.class),
+                mock(LiveScoreboard.class), broadcaster, mock(HudPublisher.class), mock(BulletEventPublisher.class),
+                30, resumeGraceMillis);
+    }
+
+    private String join(GameService game, String playerId, String sessionId) {
+        PlayerActionDTO action = new PlayerActionDTO();
+        action.setType("PLAYER_JOIN");
+        action.setPlayerId(playerId);
+        game.handlePlayerAction(action, sessionId, null, null);
+        PlayerSessionDTO reply = lastReply(sessionId);
+        assertEquals(PlayerSessionDTO.JOINED, reply.getType());
+        assertNotNull(reply.getResumeToken());
+        return reply.getResumeToken();
+    }
+
+    private PlayerSessionDTO lastReply(String sessionId) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, atLeastOnce()).convertAndSendToUser(eq(sessionId),
+                eq(GameService.SESSION_DESTINATION), payload.capture(), anyMap());
+        List<Object> replies = payload.getAllValues();
+        return (PlayerSessionDTO) replies.get(replies.size() - 1);
+    }
+}
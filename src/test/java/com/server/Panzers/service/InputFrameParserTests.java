@@ -0,0 +1,105 @@
+package com.server.Panzers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+// Compact input frames, from the payload bytes to what the game loop drains from the slot
+class InputFrameParserTests {
+
+    private final InputSlot slot = new InputSlot("p1");
+    private final InputSlot drained = new InputSlot("loop");
+
+    @Test
+    void moveFrameFillsEveryField() {
+        assertTrue(parse("M 7 120 -45 -3141 5"));
+
+        slot.transferTo(drained);
+        assertTrue(drained.isMovePending());
+        assertEquals(120, drained.getX());
+        assertEquals(-45, drained.getY());
+        assertEquals(-3.141, drained.getAngle());
+        assertEquals(2, drained.getDirection());
+        assertTrue(drained.isMoving());
+    }
+
+    @Test
+    void singleFieldFrames() {
+        assertTrue(parse("S 1"));
+        assertTrue(parse("F 2"));
+        assertTrue(parse("R 3"));
+
+        slot.transferTo(drained);
+        assertTrue(drained.isStopPending());
+        assertTrue(drained.isFirePending());
+        assertTrue(drained.isReloadPending());
+        assertFalse(drained.isMovePending());
+    }
+
+    @Test
+    void malformedFramesAreRejected() {
+        assertFalse(parse(""));
+        assertFalse(parse("F"));
+        assertFalse(parse("F "));
+        assertFalse(parse("F1"));
+        assertFalse(parse("F  1"));
+        assertFalse(parse("F 1x"));
+        assertFalse(parse("F 1,2"));
+        assertFalse(parse("F -"));
+        assertFalse(parse("F --1"));
+        assertFalse(parse("F +1"));
+        assertFalse(parse("M 1 2 3 4"));
+        assertFalse(parse("M 1 2 3 4 5 6"));
+        assertFalse(parse("X 1"));
+        assertFalse(slot.transferTo(drained));
+    }
+
+    @Test
+    void trailingSpaces() {
+        // A single trailing separator is accepted; anything more is an empty field
+        assertTrue(parse("F 1 "));
+        assertFalse(parse("F 2  "));
+        assertTrue(parse("M 3 1 2 3 4 "));
+        assertFalse(parse("M 4 1 2 3 4  "));
+    }
+
+    @Test
+    void negativeValues() {
+        // Coordinates and angles may be negative; sequences never are
+        assertFalse(parse("F -5"));
+        assertTrue(parse("M 1 -2147483647 -1 -0 0"));
+
+        slot.transferTo(drained);
+        assertEquals(-2147483647, drained.getX());
+        assertEquals(-1, drained.getY());
+        assertEquals(0, drained.getAngle());
+    }
+
+    @Test
+    void valuesOutsideIntAreRejected() {
+        assertTrue(parse("F 2147483647"));
+        assertFalse(parse("M 1 2147483648 0 0 0"));
+        assertFalse(parse("M 1 0 -2147483648 0 0"));
+        assertFalse(parse("F 99999999999999999999"));
+    }
+
+    @Test
+    void staleSequencesAreRejected() {
+        assertTrue(parse("M 10 1 1 0 1"));
+        assertFalse(parse("M 9 2 2 0 1"));
+        assertFalse(parse("F 10"));
+        assertTrue(parse("F 11"));
+
+        slot.transferTo(drained);
+        assertEquals(1, drained.getX());
+        assertTrue(drained.isFirePending());
+    }
+
+    private boolean parse(String frame) {
+        return InputFrameParser.parse(frame.getBytes(StandardCharsets.US_ASCII), slot);
+    }
+}
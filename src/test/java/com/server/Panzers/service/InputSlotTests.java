@@ -0,0 +1,92 @@
+package com.server.Panzers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// What the game loop sees after draining a slot, given the inputs offered since the last tick
+class InputSlotTests {
+
+    private final InputSlot slot = new InputSlot("p1");
+    private final InputSlot drained = new InputSlot("loop");
+
+    @Test
+    void newestMoveWins() {
+        assertTrue(slot.offer(InputSlot.MOVE, 1, 10, 20, 500, 1));
+        assertTrue(slot.offer(InputSlot.MOVE, 2, 30, 40, -1500, 2 << 1));
+
+        assertTrue(slot.transferTo(drained));
+        assertTrue(drained.isMovePending());
+        assertEquals(30, drained.getX());
+        assertEquals(40, drained.getY());
+        assertEquals(-1.5, drained.getAngle());
+        assertEquals(2, drained.getDirection());
+        assertFalse(drained.isMoving());
+    }
+
+    @Test
+    void staleAndRepeatedSequencesAreDropped() {
+        assertTrue(slot.offer(InputSlot.MOVE, 5, 10, 10, 0, 1));
+        assertFalse(slot.offer(InputSlot.MOVE, 4, 99, 99, 0, 1));
+        assertFalse(slot.offer(InputSlot.FIRE, 5, 0, 0, 0, 0));
+        assertFalse(slot.offer(InputSlot.STOP, -1, 0, 0, 0, 0));
+
+        slot.transferTo(drained);
+        assertEquals(10, drained.getX());
+        assertFalse(drained.isFirePending());
+        assertFalse(drained.isStopPending());
+
+        // Sequences keep counting across ticks
+        assertFalse(slot.offer(InputSlot.FIRE, 3, 0, 0, 0, 0));
+        assertTrue(slot.offer(InputSlot.FIRE, 6, 0, 0, 0, 0));
+    }
+
+    @Test
+    void unknownTypesAreRejectedWithoutUsingTheSequence() {
+        assertFalse(slot.offer((byte) 'X', 1, 0, 0, 0, 0));
+        assertTrue(slot.offer(InputSlot.RELOAD, 1, 0, 0, 0, 0));
+    }
+
+    @Test
+    void moveAfterStopClearsTheStop() {
+        slot.offer(InputSlot.STOP, 1, 0, 0, 0, 0);
+        slot.offer(InputSlot.MOVE, 2, 10, 10, 0, 1);
+
+        slot.transferTo(drained);
+        assertTrue(drained.isMovePending());
+        assertTrue(drained.isMoving());
+        assertFalse(drained.isStopPending());
+    }
+
+    @Test
+    void stopAfterMoveIsKept() {
+        slot.offer(InputSlot.MOVE, 1, 10, 10, 0, 1);
+        slot.offer(InputSlot.STOP, 2, 0, 0, 0, 0);
+
+        // Applied in that order: the tank ends up at the move's position, stopped
+        slot.transferTo(drained);
+        assertTrue(drained.isMovePending());
+        assertTrue(drained.isStopPending());
+    }
+
+    @Test
+    void transferClearsTheSlot() {
+        slot.offer(InputSlot.MOVE, 1, 10, 10, 0, 1);
+        slot.offer(InputSlot.FIRE, 2, 0, 0, 0, 0);
+        slot.offer(InputSlot.RELOAD, 3, 0, 0, 0, 0);
+
+        assertTrue(slot.transferTo(drained));
+        assertTrue(drained.isFirePending());
+        assertTrue(drained.isReloadPending());
+        assertFalse(slot.transferTo(drained));
+
+        // Nothing carries over into the next tick's drain
+        slot.offer(InputSlot.FIRE, 4, 0, 0, 0, 0);
+        slot.transferTo(drained);
+        assertFalse(drained.isMovePending());
+        assertFalse(drained.isReloadPending());
+        assertTrue(drained.isFirePending());
+    }
+}
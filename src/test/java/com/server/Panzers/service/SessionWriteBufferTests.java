@@ -0,0 +1,215 @@
+package com.server.Panzers.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.server.Panzers.model.GameSession;
+import com.server.Panzers.model.User;
+import com.server.Panzers.repository.GameSessionRepository;
+import com.server.Panzers.repository.GameStatisticsRepository;
+import com.server.Panzers.repository.SessionSnapshot;
+
+// The spill file and the circuit breaker, against mocked repositories. A write "fails" when
+// GameSessionRepository.writeSnapshots throws.
+class SessionWriteBufferTests {
+
+    private static final RuntimeException DATABASE_DOWN = new RuntimeException("database down");
+
+    @TempDir
+    Path directory;
+
+    private final GameSessionRepository gameSessionRepository = mock(GameSessionRepository.class);
+    private final StatisticsWriteGate gate = new StatisticsWriteGate();
+    private final User user = user();
+
+    @Test
+    void failedFlushIsReplayedBeforeNewerSnapshots() throws IOException {
+        SessionWriteBuffer buffer = buffer(3, 10_000);
+        when(gameSessionRepository.writeSnapshots(anyList())).thenThrow(DATABASE_DOWN).thenReturn(List.of());
+        GameSession first = new GameSession(user);
+        GameSession second = new GameSession(user);
+
+        buffer.submit(first);
+        buffer.flush();
+        assertEquals(1, buffer.getSpilledCount());
+        assertEquals(0, buffer.getPendingCount());
+        assertEquals(1, Files.readAllLines(spillFile()).size());
+        assertFalse(buffer.isCircuitOpen());
+
+        buffer.submit(second);
+        buffer.flush();
+        List<List<SessionSnapshot>> writes = writes(3);
+        assertEquals(List.of(first.getSessionKey()), keys(writes.get(1)));
+        assertEquals(List.of(second.getSessionKey()), keys(writes.get(2)));
+        assertFalse(Files.exists(spillFile()));
+        assertEquals(1, buffer.getReplayedCount());
+        assertEquals(2, buffer.getWrittenCount());
+    }
+
+    @Test
+    void replayWritesOnlyTheNewestSnapshotOfEachSession() throws IOException {
+        SessionWriteBuffer buffer = buffer(3, 10_000);
+        when(gameSessionRepository.writeSnapshots(anyList())).thenThrow(DATABASE_DOWN, DATABASE_DOWN)
+                .thenReturn(List.of());
+        GameSession session = new GameSession(user);
+
+        buffer.submit(session);
+        buffer.flush();
+        session.addKill();
+        buffer.submit(session);
+        buffer.flush();
+        // A crash during an append leaves a torn last line
+        Files.writeString(spillFile(), "torn\tline", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        buffer.flush();
+        List<SessionSnapshot> replayed = writes(3).get(2);
+        assertEquals(List.of(session.getSessionKey()), keys(replayed));
+        assertEquals(1, replayed.get(0).getKillsInSession());
+        assertEquals(1, buffer.getReplayedCount());
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void openCircuitSpillsWithoutTouchingTheDatabaseUntilAProbeSucceeds() throws Exception {
+        SessionWriteBuffer buffer = buffer(2, 200);
+        when(gameSessionRepository.writeSnapshots(anyList())).thenThrow(DATABASE_DOWN, DATABASE_DOWN)
+                .thenReturn(List.of());
+
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        assertFalse(buffer.isCircuitOpen());
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        assertTrue(buffer.isCircuitOpen());
+
+        // Open: straight to the spill file
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        verify(gameSessionRepository, times(2)).writeSnapshots(anyList());
+        assertEquals(3, buffer.getSpilledCount());
+
+        // Half-open: the next flush after the interval probes the database, replaying the file first
+        Thread.sleep(250);
+        GameSession probe = new GameSession(user);
+        buffer.submit(probe);
+        buffer.flush();
+        List<List<SessionSnapshot>> writes = writes(4);
+        assertEquals(3, writes.get(2).size());
+        assertEquals(List.of(probe.getSessionKey()), keys(writes.get(3)));
+        assertFalse(buffer.isCircuitOpen());
+        assertEquals(3, buffer.getReplayedCount());
+        assertFalse(Files.exists(spillFile()));
+    }
+
+    @Test
+    void failedProbeReopensTheCircuitAndKeepsTheSpillFile() throws Exception {
+        SessionWriteBuffer buffer = buffer(2, 50);
+        when(gameSessionRepository.writeSnapshots(anyList())).thenThrow(DATABASE_DOWN);
+
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        assertTrue(buffer.isCircuitOpen());
+
+        Thread.sleep(80);
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        verify(gameSessionRepository, times(3)).writeSnapshots(anyList());
+        assertTrue(buffer.isCircuitOpen());
+        assertEquals(3, Files.readAllLines(spillFile()).size());
+
+        // Open again for a full interval
+        buffer.submit(new GameSession(user));
+        buffer.flush();
+        verify(gameSessionRepository, times(3)).writeSnapshots(anyList());
+        assertEquals(4, Files.readAllLines(spillFile()).size());
+    }
+
+    @Test
+    void nothingIsWrittenWhileARebuildHoldsTheGate() throws Exception {
+        SessionWriteBuffer buffer = buffer(3, 10_000);
+        when(gameSessionRepository.writeSnapshots(anyList())).thenReturn(List.of());
+        GameSession session = new GameSession(user);
+
+        // close() and open() must run on the same thread, as they do in the rebuild job
+        gate.close();
+        try {
+            buffer.submit(session);
+            Thread flusher = new Thread(buffer::flush);
+            flusher.start();
+            flusher.join();
+            verify(gameSessionRepository, times(0)).writeSnapshots(anyList());
+            assertEquals(1, buffer.getPendingCount());
+        } finally {
+            gate.open();
+        }
+
+        buffer.flush();
+        assertEquals(List.of(session.getSessionKey()), keys(writes(1).get(0)));
+        assertEquals(0, buffer.getPendingCount());
+    }
+
+    @Test
+    void shutdownDuringARebuildSpillsInsteadOfWriting() throws Exception {
+        SessionWriteBuffer buffer = buffer(3, 10_000);
+        buffer.submit(new GameSession(user));
+
+        gate.close();
+        try {
+            Thread shutdown = new Thread(buffer::flushOnShutdown);
+            shutdown.start();
+            shutdown.join();
+        } finally {
+            gate.open();
+        }
+        verify(gameSessionRepository, times(0)).writeSnapshots(anyList());
+        assertEquals(1, Files.readAllLines(spillFile()).size());
+    }
+
+    private SessionWriteBuffer buffer(int failureThreshold, long openMillis) {
+        return new SessionWriteBuffer(gameSessionRepository, mock(GameStatisticsRepository.class),
+                mock(GlobalStatsCache.class), mock(StatisticsVersion.class), gate, mock(PlatformTransactionManager.class),
+                spillFile().toString(), 500, 2000, failureThreshold, openMillis);
+    }
+
+    private Path spillFile() {
+        return directory.resolve("spill").resolve("sessions.spill");
+    }
+
+    // Every batch passed to writeSnapshots so far, in call order
+    @SuppressWarnings("unchecked")
+    private List<List<SessionSnapshot>> writes(int expected) {
+        ArgumentCaptor<List<SessionSnapshot>> batches = ArgumentCaptor.forClass(List.class);
+        verify(gameSessionRepository, times(expected)).writeSnapshots(batches.capture());
+        return batches.getAllValues();
+    }
+
+    private static List<String> keys(List<SessionSnapshot> snapshots) {
+        return snapshots.stream().map(SessionSnapshot::getSessionKey).toList();
+    }
+
+    private static User user() {
+        User user = new User("player", "player@example.com", "hash");
+        user.setId(7L);
+        return user;
+    }
+}